@@ -1,6 +1,8 @@
 #!/bin/bash
 # Database backup script for Tasklist API
 # Usage: ./backup-db.sh <db-host> <db-user> <db-name> [backup-dir]
+# BACKUP_ARCHIVE=false leaves out the rows of tasks_archive, which never change once
+# archived; back them up with a less frequent full run instead.
 
 set -e
 
@@ -9,6 +11,10 @@ DB_USER=${2:-postgres}
 DB_NAME=${3:-tasklist}
 BACKUP_DIR=${4:-/opt/tasklist/backups}
 TIMESTAMP=$(date +%Y%m%d_%H%M%S)
+EXCLUDE=()
+if [ "${BACKUP_ARCHIVE:-true}" = "false" ]; then
+    EXCLUDE=(--exclude-table-data=tasks_archive)
+fi
 
 # Create backup directory if it doesn't exist
 mkdir -p "$BACKUP_DIR"
@@ -23,7 +29,7 @@ fi
 
 # Create backup
 echo "Creating backup of $DB_NAME database..."
-pg_dump -h "$DB_HOST" -U "$DB_USER" -F c -b -v -f "$BACKUP_DIR/${DB_NAME}_backup_${TIMESTAMP}.dump" "$DB_NAME"
+pg_dump -h "$DB_HOST" -U "$DB_USER" -F c -b -v "${EXCLUDE[@]}" -f "$BACKUP_DIR/${DB_NAME}_backup_${TIMESTAMP}.dump" "$DB_NAME"
 
 # Verify backup
 if [ $? -eq 0 ]; then
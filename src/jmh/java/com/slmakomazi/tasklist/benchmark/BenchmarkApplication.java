@@ -0,0 +1,25 @@
+package com.slmakomazi.tasklist.benchmark;
+
+import com.slmakomazi.tasklist.TasklistApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the full application against the in-memory H2 database of the test profile,
+ * with SQL and application logging turned down so they do not dominate the numbers.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        // Passed as arguments so they outrank spring.profiles.active=prod in application.yml
+        return new SpringApplicationBuilder(TasklistApiApplication.class).run(
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=warn",
+                "--logging.level.com.slmakomazi.tasklist=warn");
+    }
+}
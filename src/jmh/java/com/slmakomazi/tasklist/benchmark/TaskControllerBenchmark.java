@@ -0,0 +1,61 @@
+package com.slmakomazi.tasklist.benchmark;
+
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * The {@code TaskController} request path (binding, validation, service, serialization)
+ * driven through MockMvc, without a network hop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskControllerBenchmark {
+
+    private static final String NEW_TASK = "{\"description\":\"benchmark\",\"dueDate\":\"2030-01-01T10:00:00Z\"}";
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        TaskService service = context.getBean(TaskService.class);
+        for (int i = 0; i < 1000; i++) {
+            service.create(new Task("task " + i, OffsetDateTime.now().plusMinutes(i)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int listPage() throws Exception {
+        return mockMvc.perform(get("/api/tasks").param("limit", "100"))
+                .andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int create() throws Exception {
+        return mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content(NEW_TASK))
+                .andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,91 @@
+package com.slmakomazi.tasklist.benchmark;
+
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskFilter;
+import com.slmakomazi.tasklist.service.TaskBulkService;
+import com.slmakomazi.tasklist.service.TaskPage;
+import com.slmakomazi.tasklist.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskService} operations against an embedded H2 database holding {@code rows} tasks.
+ * {@code listCached} measures the cache-hit path; {@code listUncached} clears the cache first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService service;
+    private JdbcTemplate jdbcTemplate;
+    private CacheManager cacheManager;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start();
+        service = context.getBean(TaskService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        cacheManager = context.getBean(CacheManager.class);
+
+        StringBuilder ndjson = new StringBuilder();
+        OffsetDateTime due = OffsetDateTime.now();
+        for (int i = 0; i < rows; i++) {
+            ndjson.append("{\"description\":\"task ").append(i)
+                    .append("\",\"dueDate\":\"").append(due.plusMinutes(i)).append("\"}\n");
+        }
+        ids = context.getBean(TaskBulkService.class)
+                .ingest(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)))
+                .ids();
+    }
+
+    @Setup(Level.Iteration)
+    public void reopenTasks() {
+        // So markCompleted keeps exercising the "changed" path rather than "already completed"
+        jdbcTemplate.update("update tasks set completed = false where completed = true");
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task create() {
+        return service.create(new Task("benchmark", OffsetDateTime.now().plusDays(1)));
+    }
+
+    @Benchmark
+    public TaskPage listCached() {
+        return service.list(TaskFilter.completed(false), null, 100, 0L);
+    }
+
+    @Benchmark
+    public TaskPage listUncached() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        return service.list(TaskFilter.completed(false), null, 100, 0L);
+    }
+
+    @Benchmark
+    public Task markCompleted() {
+        return service.markCompleted(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+}
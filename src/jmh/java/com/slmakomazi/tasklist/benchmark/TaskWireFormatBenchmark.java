@@ -0,0 +1,72 @@
+package com.slmakomazi.tasklist.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.slmakomazi.tasklist.model.Task;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost and size of a task list on the wire: JSON or Smile, gzipped or not. The payload
+ * size of each combination is printed once per trial, next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskWireFormatBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    @Param({"json", "smile"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (format.equals("smile")) {
+            builder.factory(new SmileFactory());
+        }
+        objectMapper = builder.build();
+        tasks = new ArrayList<>(size);
+        OffsetDateTime due = OffsetDateTime.now();
+        for (int i = 0; i < size; i++) {
+            Task task = new Task("Serialized task number " + i, due.plusHours(i));
+            task.setId((long) i);
+            task.setCompleted(i % 3 == 0);
+            tasks.add(task);
+        }
+        System.out.printf("%n%s%s, %d tasks: %d bytes%n", format, gzip ? "+gzip" : "", size, serialize().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        if (!gzip) {
+            return objectMapper.writeValueAsBytes(tasks);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, tasks);
+        }
+        return bytes.toByteArray();
+    }
+}
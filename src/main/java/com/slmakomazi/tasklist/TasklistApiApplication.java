@@ -1,9 +1,12 @@
 package com.slmakomazi.tasklist;
 
+import com.slmakomazi.tasklist.config.TasklistRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(TasklistRuntimeHints.class)
 public class TasklistApiApplication {
     public static void main(String[] args) {
         SpringApplication.run(TasklistApiApplication.class, args);
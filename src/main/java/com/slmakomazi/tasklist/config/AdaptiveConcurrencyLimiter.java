@@ -0,0 +1,137 @@
+package com.slmakomazi.tasklist.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps requests in flight at a limit that follows their latency, and rejects the rest
+ * at once instead of letting them queue for a connection.
+ * <p>
+ * Each finished request updates a short and a long moving average of latency. While they
+ * agree, the limit grows by about its square root, probing for headroom; once requests
+ * queue somewhere and the short average rises above {@code tolerance} times the long one,
+ * the limit shrinks in proportion (Netflix's gradient algorithm). Samples taken while
+ * fewer than half the permits are in use say nothing about the limit and are only averaged.
+ */
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    /** Roughly how many samples each average spans. */
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+    /** Share of each new estimate taken into the limit, so one sample cannot swing it. */
+    private static final double SMOOTHING = 0.2;
+
+    private static final Permit UNLIMITED = new Permit(null, 0, 0);
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final LongSupplier nanoTime;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong shed = new AtomicLong();
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(boolean enabled, int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this(enabled, initialLimit, minLimit, maxLimit, tolerance, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(boolean enabled, int initialLimit, int minLimit, int maxLimit, double tolerance,
+                               LongSupplier nanoTime) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit || tolerance < 1) {
+            throw new IllegalArgumentException("Concurrency limit needs 1 <= min-limit <= initial-limit <= max-limit and tolerance >= 1");
+        }
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.nanoTime = nanoTime;
+        this.limit = initialLimit;
+    }
+
+    /** A permit to release when the request is done, or null if the limit is reached. */
+    public Permit tryAcquire() {
+        if (!enabled) {
+            return UNLIMITED;
+        }
+        int current = inFlight.incrementAndGet();
+        if (current > (int) limit) {
+            inFlight.decrementAndGet();
+            shed.incrementAndGet();
+            return null;
+        }
+        return new Permit(this, nanoTime.getAsLong(), current);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasklist.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Requests currently allowed in flight")
+                .register(registry);
+        Gauge.builder("tasklist.concurrency.in-flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests in flight under the concurrency limit")
+                .register(registry);
+        FunctionCounter.builder("tasklist.requests.shed", shed, AtomicLong::get)
+                .description("Requests turned away before reaching the service")
+                .tag("reason", "concurrency")
+                .register(registry);
+    }
+
+    private synchronized void onSample(long rtt, int inFlightAtStart) {
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+        }
+        shortRtt += (rtt - shortRtt) / SHORT_WINDOW;
+        longRtt += (rtt - longRtt) / LONG_WINDOW;
+        // After a slow spell, let the baseline come down with latency instead of waiting it out
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+        double gradient = shortRtt > 0 ? Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt)) : 1.0;
+        double estimate = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + estimate * SMOOTHING));
+    }
+
+    public static final class Permit {
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long startedAt;
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(AdaptiveConcurrencyLimiter limiter, long startedAt, int inFlightAtStart) {
+            this.limiter = limiter;
+            this.startedAt = startedAt;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /** Returns the permit and records the request's latency; later calls do nothing. */
+        public void release() {
+            if (limiter == null || !released.compareAndSet(false, true)) {
+                return;
+            }
+            limiter.inFlight.decrementAndGet();
+            limiter.onSample(limiter.nanoTime.getAsLong() - startedAt, inFlightAtStart);
+        }
+    }
+}
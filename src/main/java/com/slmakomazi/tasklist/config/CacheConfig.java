@@ -0,0 +1,45 @@
+package com.slmakomazi.tasklist.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Bounded Caffeine caches in front of the read paths of {@code TaskService}.
+ * <p>
+ * Caching advice runs outside the transaction advice, so a cache hit never borrows a
+ * connection, and inside {@link MetricsConfig}'s timer.
+ * <p>
+ * The manager is transaction-aware: evictions and puts issued inside a transaction are
+ * applied only after it commits, so a rolled-back write cannot leave the cache out of
+ * step with the database.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE + 1)
+public class CacheConfig {
+    public static final String TASK_LISTS = "taskLists";
+    public static final String TASKS = "tasks";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${tasklist.cache.max-size:10000}") long maxSize,
+                                     @Value("${tasklist.cache.ttl:30s}") Duration ttl) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        caffeine.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                // Hit/miss/eviction counters picked up by the Micrometer cache binder
+                .recordStats());
+        caffeine.setCacheNames(List.of(TASK_LISTS, TASKS));
+        caffeine.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,213 @@
+package com.slmakomazi.tasklist.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Makes {@code server.compression.min-response-size} apply on Tomcat.
+ * <p>
+ * Tomcat only compares the threshold with a known Content-Length, but message converters
+ * flush the body before it is complete, so every JSON response would go out chunked and
+ * gzipped. This holds a response back until it reaches the threshold: a smaller one is
+ * sent whole with its Content-Length and stays uncompressed, a larger one streams on as
+ * before. Async responses (SSE, streaming) are released as soon as the handler returns.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    private final int threshold;
+
+    public CompressionThresholdFilter(@Value("${server.compression.min-response-size:2KB}") DataSize threshold) {
+        this.threshold = (int) threshold.toBytes();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ThresholdResponse held = new ThresholdResponse(response, threshold);
+        try {
+            chain.doFilter(request, held);
+        } catch (IOException | ServletException | RuntimeException | Error ex) {
+            // The body of a failed request is not sent, and sending it could hide the failure
+            held.discard();
+            throw ex;
+        }
+        held.finish(!request.isAsyncStarted());
+    }
+
+    private static final class ThresholdResponse extends HttpServletResponseWrapper {
+        private final int threshold;
+        // Not synchronized: a monitor held across a blocking socket write pins a virtual thread
+        private final ReentrantLock lock = new ReentrantLock();
+        private ByteArrayOutputStream held = new ByteArrayOutputStream();
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        ThresholdResponse(HttpServletResponse response, int threshold) {
+            super(response);
+            this.threshold = threshold;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream target = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        write(new byte[]{(byte) b}, 0, 1);
+                    }
+
+                    // Locked because an async handler may write while the filter releases
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        lock.lock();
+                        try {
+                            if (held == null) {
+                                target.write(b, off, len);
+                                return;
+                            }
+                            held.write(b, off, len);
+                            if (held.size() >= threshold) {
+                                release(false);
+                            }
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        // Flushing would commit a still-small response without a length
+                        lock.lock();
+                        try {
+                            if (held == null) {
+                                target.flush();
+                            }
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return target.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        target.setWriteListener(listener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (held == null) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (held != null) {
+                held.reset();
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (held != null) {
+                held.reset();
+            }
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            discard();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            discard();
+            super.sendError(sc, msg);
+        }
+
+        /** Drops what is held back, for a response that is failing or being replaced by an error. */
+        void discard() {
+            lock.lock();
+            try {
+                held = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** Called once the handler returned; {@code complete} is false when it went async. */
+        void finish(boolean complete) throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            release(complete);
+            if (!complete && outputStream != null) {
+                // Flushes the handler made while its response was held back
+                outputStream.flush();
+            }
+        }
+
+        /** Sends what was held back, with its length if that is the whole body, and stops holding. */
+        private void release(boolean complete) throws IOException {
+            lock.lock();
+            try {
+                if (held == null) {
+                    return;
+                }
+                ByteArrayOutputStream body = held;
+                held = null;
+                if (complete && outputStream != null && !super.isCommitted()) {
+                    super.setContentLength(body.size());
+                }
+                if (body.size() > 0) {
+                    body.writeTo(super.getOutputStream());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.slmakomazi.tasklist.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback {@link AsyncAppender} that counts the events it drops instead of letting them
+ * vanish silently. Two kinds of drops are counted:
+ * <ul>
+ *     <li>discarded: TRACE/DEBUG/INFO events shed once the queue is fuller than
+ *     {@code discardingThreshold} allows;</li>
+ *     <li>rejected: any event arriving at a full queue with {@code neverBlock} set.</li>
+ * </ul>
+ * Counters are static because Logback starts before the Spring context;
+ * {@link LoggingMetricsConfig} publishes them. A racing producer can occasionally be
+ * dropped by the parent class without being counted, so the numbers are a lower bound.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+    private static final LongAdder DISCARDED = new LongAdder();
+    private static final LongAdder REJECTED = new LongAdder();
+
+    public static long discarded() {
+        return DISCARDED.sum();
+    }
+
+    public static long rejected() {
+        return REJECTED.sum();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if (remaining < getDiscardingThreshold() && isDiscardable(event)) {
+            DISCARDED.increment();
+            return;
+        }
+        if (isNeverBlock() && remaining == 0) {
+            REJECTED.increment();
+            return;
+        }
+        super.append(event);
+    }
+}
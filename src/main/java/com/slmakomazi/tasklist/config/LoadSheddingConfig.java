@@ -0,0 +1,99 @@
+package com.slmakomazi.tasklist.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Rate and concurrency limits in front of {@code /api/tasks}, on both stacks.
+ * <p>
+ * A client (its {@code tasklist.rate-limit.client-header}, else its address) over its
+ * token bucket gets {@code 429}; a request over the adaptive concurrency limit gets
+ * {@code 503}. Both come back at once with {@code Retry-After}, instead of the request
+ * waiting out the connection pool's timeout. The limits sit inside the HTTP metrics
+ * filter, so shed requests still show up in {@code http.server.requests}.
+ */
+@Configuration
+public class LoadSheddingConfig {
+    static final String TASKS_PATH = "/api/tasks";
+    /**
+     * SSE connections stay open for minutes and exports and imports can run for as long;
+     * they are rate limited but neither counted in flight nor timed by the limiter.
+     */
+    static final Set<String> LONG_RUNNING_PATHS = Set.of("/api/tasks/stream", "/api/tasks/export", "/api/tasks/import");
+    /** Long-polled with {@code wait}; such a request lasts as long as it waits, not as long as it works. */
+    static final String CHANGES_PATH = "/api/tasks/changes";
+    static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 2;
+
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter(@Value("${tasklist.rate-limit.enabled:true}") boolean enabled,
+                                                         @Value("${tasklist.rate-limit.capacity:200}") int capacity,
+                                                         @Value("${tasklist.rate-limit.refill-rate:100}") double refillRate,
+                                                         @Value("${tasklist.rate-limit.max-clients:100000}") long maxClients) {
+        return new TokenBucketRateLimiter(enabled, capacity, refillRate, maxClients);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(@Value("${tasklist.concurrency-limit.enabled:true}") boolean enabled,
+                                                                 @Value("${tasklist.concurrency-limit.initial-limit:20}") int initialLimit,
+                                                                 @Value("${tasklist.concurrency-limit.min-limit:4}") int minLimit,
+                                                                 @Value("${tasklist.concurrency-limit.max-limit:200}") int maxLimit,
+                                                                 @Value("${tasklist.concurrency-limit.tolerance:1.5}") double tolerance) {
+        return new AdaptiveConcurrencyLimiter(enabled, initialLimit, minLimit, maxLimit, tolerance);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(TokenBucketRateLimiter rateLimiter,
+                                                                         AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                                                         @Value("${tasklist.rate-limit.client-header:X-API-Key}") String clientHeader) {
+        FilterRegistrationBean<LoadSheddingFilter> registration =
+                new FilterRegistrationBean<>(new LoadSheddingFilter(rateLimiter, concurrencyLimiter, clientHeader));
+        registration.addUrlPatterns(TASKS_PATH, TASKS_PATH + "/*");
+        registration.setOrder(ORDER);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveLoadSheddingFilter reactiveLoadSheddingFilter(TokenBucketRateLimiter rateLimiter,
+                                                                 AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                                                 @Value("${tasklist.rate-limit.client-header:X-API-Key}") String clientHeader) {
+        return new ReactiveLoadSheddingFilter(rateLimiter, concurrencyLimiter, clientHeader);
+    }
+
+    /**
+     * Whether the request is left out of the concurrency limit; {@code parameter} reads its
+     * query parameters. {@code ?stream=true} on the list writes the whole table, so it is
+     * treated like an export.
+     */
+    static boolean isLongRunning(String path, Function<String, String> parameter) {
+        if (LONG_RUNNING_PATHS.contains(path)) {
+            return true;
+        }
+        if (TASKS_PATH.equals(path)) {
+            return "true".equals(parameter.apply("stream"));
+        }
+        String wait = CHANGES_PATH.equals(path) ? parameter.apply("wait") : null;
+        if (wait == null) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(wait.trim()) > 0;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    /** Whole seconds, rounded up, as {@code Retry-After} wants them. */
+    static String retryAfter(Duration wait) {
+        return Long.toString(Math.max(1, (wait.toMillis() + 999) / 1000));
+    }
+}
@@ -0,0 +1,84 @@
+package com.slmakomazi.tasklist.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/** Servlet side of {@link LoadSheddingConfig}. */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final String clientHeader;
+
+    LoadSheddingFilter(TokenBucketRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter, String clientHeader) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = request.getHeader(clientHeader);
+        Duration wait = rateLimiter.tryAcquire(client != null ? client : request.getRemoteAddr());
+        if (!wait.isZero()) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, wait);
+            return;
+        }
+        if (LoadSheddingConfig.isLongRunning(request.getRequestURI(), request::getParameter)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.tryAcquire();
+        if (permit == null) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, Duration.ZERO);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(permit));
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, Duration wait) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, LoadSheddingConfig.retryAfter(wait));
+    }
+
+    /** Holds the permit until a streamed response ends, however it ends. */
+    private record ReleasingListener(AdaptiveConcurrencyLimiter.Permit permit) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.slmakomazi.tasklist.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Publishes the drop counters of {@link CountingAsyncAppender} as {@code logging.events.dropped}. */
+@Configuration
+public class LoggingMetricsConfig {
+
+    @Bean
+    public MeterBinder droppedLogEventsMetrics() {
+        return registry -> {
+            FunctionCounter.builder("logging.events.dropped", CountingAsyncAppender.class, c -> CountingAsyncAppender.discarded())
+                    .tag("reason", "discarded")
+                    .description("Low-level log events shed because the async appender queue was filling up")
+                    .register(registry);
+            FunctionCounter.builder("logging.events.dropped", CountingAsyncAppender.class, c -> CountingAsyncAppender.rejected())
+                    .tag("reason", "queue-full")
+                    .description("Log events dropped because the async appender queue was full")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.slmakomazi.tasklist.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Backs {@code @Timed} on service classes. The aspect runs outside the caching advice (see
+ * {@link CacheConfig}), so service timers include cache hits. The gap between
+ * {@code http.server.requests} and {@code tasklist.service} is then web-layer work such as
+ * serialization, and is not skewed by the hit rate.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Declared with the concrete type: Spring reads aspect order from the bean's type
+    @Bean
+    public OutermostTimedAspect timedAspect(MeterRegistry registry) {
+        return new OutermostTimedAspect(registry);
+    }
+
+    public static class OutermostTimedAspect extends TimedAspect implements Ordered {
+        OutermostTimedAspect(MeterRegistry registry) {
+            super(registry);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
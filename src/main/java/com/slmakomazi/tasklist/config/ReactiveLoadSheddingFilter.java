@@ -0,0 +1,69 @@
+package com.slmakomazi.tasklist.config;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+/** WebFlux side of {@link LoadSheddingConfig}. */
+public class ReactiveLoadSheddingFilter implements WebFilter, Ordered {
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final String clientHeader;
+
+    ReactiveLoadSheddingFilter(TokenBucketRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter, String clientHeader) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+        if (!path.equals(LoadSheddingConfig.TASKS_PATH) && !path.startsWith(LoadSheddingConfig.TASKS_PATH + "/")) {
+            return chain.filter(exchange);
+        }
+        Duration wait = rateLimiter.tryAcquire(client(request));
+        if (!wait.isZero()) {
+            return reject(exchange.getResponse(), HttpStatus.TOO_MANY_REQUESTS, wait);
+        }
+        if (LoadSheddingConfig.isLongRunning(path, request.getQueryParams()::getFirst)) {
+            return chain.filter(exchange);
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.tryAcquire();
+        if (permit == null) {
+            return reject(exchange.getResponse(), HttpStatus.SERVICE_UNAVAILABLE, Duration.ZERO);
+        }
+        return chain.filter(exchange).doFinally(signal -> permit.release());
+    }
+
+    @Override
+    public int getOrder() {
+        return LoadSheddingConfig.ORDER;
+    }
+
+    private String client(ServerHttpRequest request) {
+        String client = request.getHeaders().getFirst(clientHeader);
+        if (client != null) {
+            return client;
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        return remote == null ? "unknown" : remote.getHostString();
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response, HttpStatus status, Duration wait) {
+        response.setStatusCode(status);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, LoadSheddingConfig.retryAfter(wait));
+        return response.setComplete();
+    }
+}
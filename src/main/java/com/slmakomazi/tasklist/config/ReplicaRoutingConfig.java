@@ -0,0 +1,102 @@
+package com.slmakomazi.tasklist.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes read-only transactions to streaming replicas, see {@link ReplicaRoutingDataSource}.
+ * Active only when {@code tasklist.datasource.replica-urls} is set; replicas share the
+ * primary's credentials and pool settings, as physical standbys share its roles.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "tasklist.datasource.replica-urls")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties,
+                                                             Environment environment,
+                                                             ObjectProvider<MeterRegistry> meterRegistry,
+                                                             @Value("${tasklist.datasource.replica-urls}") List<String> replicaUrls,
+                                                             @Value("${tasklist.datasource.read-your-writes-window:1s}") Duration readYourWritesWindow,
+                                                             @Value("${tasklist.datasource.replica-connection-timeout:1s}") Duration replicaConnectionTimeout) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(url);
+            config.setPoolName("replica-" + replicas.size());
+            // A slow or missing replica costs a read this long before it falls back to the primary
+            config.setConnectionTimeout(replicaConnectionTimeout.toMillis());
+            config.setInitializationFailTimeout(-1);
+            config.setReadOnly(true);
+            meterRegistry.ifAvailable(config::setMetricRegistry);
+            replicas.add(new HikariDataSource(config));
+        }
+        // Only now: copyStateTo would otherwise hand the primary's registry to the replicas
+        meterRegistry.ifAvailable(primary::setMetricRegistry);
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, readYourWritesWindow);
+        routing.checkReplicas();
+        return routing;
+    }
+
+    /** The application's DataSource; defers connecting until the transaction is marked read-only or not. */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public MeterBinder replicaMetrics(ReplicaRoutingDataSource routing) {
+        return registry -> Gauge.builder("tasklist.datasource.replicas.healthy", routing, ReplicaRoutingDataSource::healthyReplicas)
+                .description("Replicas currently serving read-only transactions")
+                .register(registry);
+    }
+
+    @Bean
+    public ReplicaHealthCheck replicaHealthCheck(ReplicaRoutingDataSource routing) {
+        return new ReplicaHealthCheck(routing);
+    }
+
+    public static class ReplicaHealthCheck {
+        private final ReplicaRoutingDataSource routing;
+
+        ReplicaHealthCheck(ReplicaRoutingDataSource routing) {
+            this.routing = routing;
+        }
+
+        @Scheduled(fixedDelayString = "${tasklist.datasource.replica-check-interval:PT5S}")
+        public void check() {
+            routing.checkReplicas();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.slmakomazi.tasklist.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to
+ * everything else. Must sit behind a {@code LazyConnectionDataSourceProxy}: the
+ * transaction manager asks for a connection before it marks the transaction read-only,
+ * and the proxy defers that until the first statement.
+ * <p>
+ * A replica is used only while it is healthy and the last known write is older than
+ * {@code readYourWritesWindow}; a replica whose replay lag exceeds the window is
+ * unhealthy, so a read routed to it has already seen that write. Any failure to get a
+ * replica connection falls back to the primary and takes the replica out until the next
+ * health check.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    /** Seconds a PostgreSQL standby is behind; 0 when it has replayed all it received. */
+    static final String POSTGRESQL_LAG_SQL =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration readYourWritesWindow;
+    private final Clock clock;
+    private final AtomicLong lastChangeMillis = new AtomicLong();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration readYourWritesWindow) {
+        this(primary, replicas, readYourWritesWindow, Clock.systemUTC());
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration readYourWritesWindow, Clock clock) {
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size()).mapToObj(i -> new Replica(replicas.get(i), i)).toList();
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.clock = clock;
+    }
+
+    /** Records a write seen at {@code at}; reads stay on the primary until the window has passed. */
+    public void noteChange(Instant at) {
+        lastChangeMillis.accumulateAndGet(at.toEpochMilli(), Math::max);
+    }
+
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = pickReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException ex) {
+                markDown(replica, ex);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /** Probes every replica and its replay lag; run periodically by {@link ReplicaRoutingConfig}. */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection con = replica.dataSource.getConnection(); Statement st = con.createStatement()) {
+                double lagSeconds = 0;
+                if (con.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("postgres")) {
+                    try (ResultSet rs = st.executeQuery(POSTGRESQL_LAG_SQL)) {
+                        rs.next();
+                        lagSeconds = rs.getDouble(1);
+                    }
+                } else {
+                    st.execute("SELECT 1");
+                }
+                Duration lag = Duration.ofMillis((long) (lagSeconds * 1000));
+                if (lag.compareTo(readYourWritesWindow) > 0) {
+                    markDown(replica, "lag " + lag + " exceeds the read-your-writes window");
+                } else if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("Replica {} is in rotation", replica.index);
+                }
+            } catch (SQLException ex) {
+                markDown(replica, ex);
+            }
+        }
+    }
+
+    private Replica pickReplica() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        if (clock.millis() - lastChangeMillis.get() < readYourWritesWindow.toMillis()) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void markDown(Replica replica, SQLException ex) {
+        markDown(replica, ex.getMessage());
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} taken out of rotation, reads fall back to the primary: {}", replica.index, reason);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class Replica {
+        final DataSource dataSource;
+        final int index;
+        // Out of rotation until the first health check has passed
+        volatile boolean healthy;
+
+        Replica(DataSource dataSource, int index) {
+            this.dataSource = dataSource;
+            this.index = index;
+        }
+    }
+}
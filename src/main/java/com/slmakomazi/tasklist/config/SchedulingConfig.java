@@ -0,0 +1,15 @@
+package com.slmakomazi.tasklist.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs {@code @Scheduled} background work such as the stats snapshot refresh. Tests that
+ * drive that work by hand switch it off with {@code tasklist.scheduling.enabled=false}.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "tasklist.scheduling.enabled", matchIfMissing = true)
+public class SchedulingConfig {
+}
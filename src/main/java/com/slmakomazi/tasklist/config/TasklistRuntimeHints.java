@@ -0,0 +1,31 @@
+package com.slmakomazi.tasklist.config;
+
+import com.slmakomazi.tasklist.controller.CompleteRequest;
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import com.slmakomazi.tasklist.service.BulkCompleteResult;
+import com.slmakomazi.tasklist.service.BulkInsertResult;
+import com.slmakomazi.tasklist.service.TaskEventPage;
+import com.slmakomazi.tasklist.service.TaskStats;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * What a native image needs beyond what Spring AOT infers from the controllers: Jackson
+ * binding for payloads written outside handler signatures (SSE events, NDJSON streams,
+ * stored idempotent responses), the {@code Task} lifecycle callback Hibernate calls
+ * reflectively, and the Flyway scripts under their per-vendor locations.
+ */
+public class TasklistRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                Task.class, TaskEvent.class, TaskEventPage.class, BulkInsertResult.class,
+                BulkCompleteResult.class, TaskStats.class, CompleteRequest.class);
+        hints.reflection().registerType(Task.class, MemberCategory.INVOKE_DECLARED_METHODS);
+        hints.resources().registerPattern("db/migration/*/*.sql");
+    }
+}
@@ -0,0 +1,93 @@
+package com.slmakomazi.tasklist.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * One token bucket per client: up to {@code capacity} requests in a burst, refilled at
+ * {@code refillRate} per second.
+ * <p>
+ * Buckets of clients gone quiet long enough to have refilled completely are dropped, since
+ * a new bucket starts full anyway; {@code maxClients} bounds the rest.
+ */
+public class TokenBucketRateLimiter implements MeterBinder {
+
+    private final boolean enabled;
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoTime;
+    private final Cache<String, Bucket> buckets;
+    private final AtomicLong shed = new AtomicLong();
+
+    public TokenBucketRateLimiter(boolean enabled, int capacity, double refillRate, long maxClients) {
+        this(enabled, capacity, refillRate, maxClients, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(boolean enabled, int capacity, double refillRate, long maxClients, LongSupplier nanoTime) {
+        if (capacity < 1 || refillRate <= 0) {
+            throw new IllegalArgumentException("Rate limit needs a capacity of at least 1 and a positive refill rate");
+        }
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.tokensPerNano = refillRate / TimeUnit.SECONDS.toNanos(1);
+        this.nanoTime = nanoTime;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos((long) Math.ceil(capacity / tokensPerNano)))
+                .build();
+    }
+
+    /** Takes a token for {@code client}; returns zero, or how long until one is available. */
+    public Duration tryAcquire(String client) {
+        if (!enabled) {
+            return Duration.ZERO;
+        }
+        long now = nanoTime.getAsLong();
+        Bucket bucket = buckets.get(client, key -> new Bucket(capacity, now));
+        long wait = bucket.take(now, capacity, tokensPerNano);
+        if (wait > 0) {
+            shed.incrementAndGet();
+        }
+        return Duration.ofNanos(wait);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasklist.rate-limit.clients", buckets, Cache::estimatedSize)
+                .description("Clients with a partly used token bucket")
+                .register(registry);
+        FunctionCounter.builder("tasklist.requests.shed", shed, AtomicLong::get)
+                .description("Requests turned away before reaching the service")
+                .tag("reason", "rate-limit")
+                .register(registry);
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+
+        synchronized long take(long now, double capacity, double tokensPerNano) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.slmakomazi.tasklist.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Smile, Jackson's binary JSON, next to JSON on both stacks, chosen by Accept and
+ * Content-Type. Smile refers back to field names it has already written, so a list of
+ * tasks spells out each field name only once.
+ * <p>
+ * Spring registers Smile by default but with a plain mapper. These codecs use Boot's
+ * builder instead, so the {@code spring.jackson} settings apply and a Smile payload
+ * decodes to the same values as its JSON twin.
+ */
+@Configuration
+public class WireFormatConfig {
+    public static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    public static final String CSV_VALUE = "text/csv";
+    public static final MediaType CSV = MediaType.parseMediaType(CSV_VALUE);
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public CodecCustomizer smileCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper smile = smileMapper(builder);
+        // Without the media type, these constructors fall back to JSON's
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smile, SMILE));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smile, SMILE));
+        };
+    }
+
+    /** The builder bean is prototype-scoped, so switching its factory does not affect JSON. */
+    public static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new SmileFactory()).build();
+    }
+
+    /** For export and import only; CSV is not negotiated on the other endpoints. */
+    public static ObjectMapper csvMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new CsvFactory()).build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.slmakomazi.tasklist.controller;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Body of {@code PUT /api/tasks/complete}: either explicit {@code ids} or a
+ * {@code dueBefore} filter selecting every open task due before that instant.
+ */
+public record CompleteRequest(List<Long> ids, OffsetDateTime dueBefore) {
+
+    boolean isValid() {
+        return (ids == null) != (dueBefore == null);
+    }
+}
@@ -0,0 +1,287 @@
+package com.slmakomazi.tasklist.controller;
+
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import com.slmakomazi.tasklist.service.BulkCompleteResult;
+import com.slmakomazi.tasklist.service.BulkInsertResult;
+import com.slmakomazi.tasklist.service.IdempotencyConflictException;
+import com.slmakomazi.tasklist.service.IdempotencyService;
+import com.slmakomazi.tasklist.service.ReactiveTaskService;
+import com.slmakomazi.tasklist.service.StatsBucket;
+import com.slmakomazi.tasklist.service.TaskEventPage;
+import com.slmakomazi.tasklist.service.TaskEventService;
+import com.slmakomazi.tasklist.service.TaskEventsExpiredException;
+import com.slmakomazi.tasklist.service.TaskStats;
+import com.slmakomazi.tasklist.service.TaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static com.slmakomazi.tasklist.controller.TaskController.BULK_SCOPE;
+import static com.slmakomazi.tasklist.controller.TaskController.CREATE_SCOPE;
+import static com.slmakomazi.tasklist.controller.TaskController.IDEMPOTENCY_KEY_HEADER;
+import static com.slmakomazi.tasklist.controller.TaskController.NEXT_CURSOR_HEADER;
+import static com.slmakomazi.tasklist.controller.TaskController.REPLAYED_HEADER;
+import static com.slmakomazi.tasklist.controller.TaskController.conflict;
+import static com.slmakomazi.tasklist.controller.TaskController.eTag;
+import static com.slmakomazi.tasklist.controller.TaskController.idempotent;
+import static com.slmakomazi.tasklist.controller.TaskController.listFilter;
+import static com.slmakomazi.tasklist.controller.TaskController.validated;
+
+/**
+ * WebFlux twin of {@link TaskController}, active with the {@code reactive} profile.
+ * Paths, parameters, headers and status codes are the same on both stacks.
+ */
+@RestController
+@RequestMapping("/api/tasks")
+@Profile("reactive")
+@Tag(name = "Tasks", description = "Task management API")
+public class ReactiveTaskController {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTaskController.class);
+
+    private final ReactiveTaskService service;
+    private final IdempotencyService idempotency;
+    private final Duration heartbeatInterval;
+
+    public ReactiveTaskController(ReactiveTaskService service, IdempotencyService idempotency,
+                                  @Value("${tasklist.stream.heartbeat-interval:PT15S}") Duration heartbeatInterval) {
+        this.service = service;
+        this.idempotency = idempotency;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    @Operation(summary = "Create a new task",
+            description = "With an " + IDEMPOTENCY_KEY_HEADER + " header, a retry gets the first response back, marked " +
+                    REPLAYED_HEADER + ": true, instead of creating the task again. 422 if the key was used for a different task")
+    @PostMapping
+    public Mono<ResponseEntity<Task>> create(@Valid @RequestBody Task task,
+                                             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String key) {
+        if (key == null) {
+            return service.create(task)
+                    .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+        }
+        return Mono.defer(() -> Mono.fromFuture(idempotency.executeAsync(CREATE_SCOPE, key, idempotency.fingerprint(task),
+                        Task.class, () -> service.create(task).toFuture())))
+                .map(result -> idempotent(HttpStatus.CREATED, result))
+                .onErrorResume(IdempotencyConflictException.class, ex -> {
+                    log.debug("{}", ex.getMessage());
+                    return Mono.just(conflict(ex));
+                })
+                .onErrorResume(IllegalArgumentException.class, ex -> {
+                    log.debug("{}", ex.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                });
+    }
+
+    @Operation(summary = "Create many tasks from a JSON array or NDJSON stream",
+            description = "Valid items are inserted in batches; invalid items are reported by index. " +
+                    "A retry with the same " + IDEMPOTENCY_KEY_HEADER + " gets the first result back without the body being read")
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<BulkInsertResult>> createBulk(@RequestBody Flux<Task> body,
+                                                             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String key) {
+        if (key == null) {
+            return service.ingest(body).map(ResponseEntity::ok);
+        }
+        return Mono.defer(() -> Mono.fromFuture(idempotency.executeAsync(BULK_SCOPE, key, null,
+                        BulkInsertResult.class, () -> service.ingest(body).toFuture())))
+                .map(result -> idempotent(HttpStatus.OK, result))
+                .onErrorResume(IdempotencyConflictException.class, ex -> {
+                    log.debug("{}", ex.getMessage());
+                    return Mono.just(conflict(ex));
+                })
+                .onErrorResume(IllegalArgumentException.class, ex -> {
+                    log.debug("{}", ex.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                });
+    }
+
+    @Operation(summary = "List tasks one page at a time, filtered and sorted by the database",
+            description = "Due-date bounds are exclusive; `overdue` selects open tasks already due; " +
+                    "`descriptionPrefix` is case-sensitive; `sort` is `dueDate` (default) or `-dueDate`. " +
+                    "Pass the " + NEXT_CURSOR_HEADER + " response header back as `cursor`, with the same filters, to fetch the next page. " +
+                    "Send the ETag back as If-None-Match to get 304 while no task has changed; overdue pages have none. " +
+                    "`archived=true` pages through archived tasks instead, by due date only")
+    @GetMapping
+    public Mono<ResponseEntity<List<Task>>> list(@RequestParam(value = "completed", required = false) Boolean completed,
+                                                 @RequestParam(value = "dueAfter", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime dueAfter,
+                                                 @RequestParam(value = "dueBefore", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime dueBefore,
+                                                 @RequestParam(value = "overdue", defaultValue = "false") boolean overdue,
+                                                 @RequestParam(value = "descriptionPrefix", required = false) String descriptionPrefix,
+                                                 @RequestParam(value = "sort", required = false) String sort,
+                                                 @RequestParam(value = "cursor", required = false) String cursor,
+                                                 @RequestParam(value = "limit", defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int limit,
+                                                 @RequestParam(value = "archived", defaultValue = "false") boolean archived,
+                                                 ServerWebExchange exchange) {
+        return Mono.fromCallable(() -> listFilter(completed, dueAfter, dueBefore, overdue, descriptionPrefix, sort, cursor, archived))
+                .flatMap(filter -> service.changes().flatMap(changes -> {
+                    String eTag = eTag(changes.version());
+                    if (!filter.overdue() && exchange.checkNotModified(eTag, changes.changedAt().toInstant())) {
+                        return Mono.empty();
+                    }
+                    return (archived ? service.listArchived(cursor, limit) : service.list(filter, cursor, limit))
+                            .map(page -> {
+                                ResponseEntity.BodyBuilder response = validated(ResponseEntity.ok(), filter, eTag, changes)
+                                        .varyBy(HttpHeaders.ACCEPT);
+                                if (page.next() != null) {
+                                    response.header(NEXT_CURSOR_HEADER, page.next());
+                                }
+                                return response.body(page.items());
+                            });
+                }))
+                .onErrorResume(IllegalArgumentException.class, ex -> {
+                    log.debug("{}", ex.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                });
+    }
+
+    @Operation(summary = "Search task descriptions, best match first",
+            description = "Full-text search on PostgreSQL. Page with `cursor` and the " + NEXT_CURSOR_HEADER + " header as for the list")
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<Task>>> search(@RequestParam("q") String query,
+                                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                                   @RequestParam(value = "limit", defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int limit) {
+        return service.search(query, cursor, limit)
+                .map(page -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (page.next() != null) {
+                        response.header(NEXT_CURSOR_HEADER, page.next());
+                    }
+                    return response.body(page.items());
+                })
+                .onErrorResume(IllegalArgumentException.class, ex -> {
+                    log.debug("{}", ex.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                });
+    }
+
+    @Operation(summary = "Count open, completed and overdue tasks, with due dates per day or week",
+            description = "`bucket` is `day` (default) or `week`; may be up to tasklist.stats.max-staleness old, see `computedAt`")
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<TaskStats>> stats(@RequestParam(value = "bucket", required = false) String bucket) {
+        return Mono.fromCallable(() -> StatsBucket.parse(bucket))
+                .flatMap(service::stats)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, ex -> {
+                    log.debug("{}", ex.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                });
+    }
+
+    @Operation(summary = "Follow task changes by position instead of re-reading the list",
+            description = "Without `since`, returns the current position as `next`. With it, returns the events after it, " +
+                    "each with the task as it is now. `wait` (seconds, at most 25) long-polls while there are none yet. " +
+                    "410 Gone means the events after `since` were purged: reload the list and start again")
+    @GetMapping("/changes")
+    public Mono<ResponseEntity<TaskEventPage>> changes(@RequestParam(value = "since", required = false) Long since,
+                                                       @RequestParam(value = "limit", defaultValue = "" + TaskEventService.DEFAULT_PAGE_SIZE) int limit,
+                                                       @RequestParam(value = "wait", defaultValue = "0") int wait) {
+        return service.changes(since, limit, Duration.ofSeconds(wait))
+                .map(ResponseEntity::ok)
+                .onErrorResume(TaskEventsExpiredException.class, ex -> {
+                    log.debug("{}", ex.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.GONE).build());
+                })
+                .onErrorResume(IllegalArgumentException.class, ex -> {
+                    log.debug("{}", ex.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                });
+    }
+
+    @Operation(summary = "Push task changes as Server-Sent Events while they commit",
+            description = "Each event's id is its position and its data is the event as in /changes. Reconnect with " +
+                    "Last-Event-ID to resume; 410 Gone means that position was purged. A client that falls " +
+                    "tasklist.stream.buffer-size events behind is disconnected")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Mono<ResponseEntity<Flux<ServerSentEvent<TaskEvent>>>> streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return service.streamEvents(lastEventId)
+                .map(events -> {
+                    Flux<ServerSentEvent<TaskEvent>> body = events
+                            .map(event -> ServerSentEvent.builder(event).id(Long.toString(event.position())).build())
+                            .onErrorResume(ex -> {
+                                log.debug("Task event stream closed: {}", ex.getMessage());
+                                return Flux.empty();
+                            });
+                    // The first heartbeat goes out at once so the response headers are not held back
+                    Flux<ServerSentEvent<TaskEvent>> heartbeats = Flux.interval(Duration.ZERO, heartbeatInterval)
+                            .map(tick -> ServerSentEvent.<TaskEvent>builder().comment("heartbeat").build());
+                    // Heartbeats keep idle connections open through proxies and end with the events
+                    return ResponseEntity.ok(body.publish(shared ->
+                            Flux.merge(shared, heartbeats.takeUntilOther(shared.then()))));
+                })
+                .onErrorResume(TaskEventsExpiredException.class, ex -> {
+                    log.debug("{}", ex.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.GONE).build());
+                })
+                .onErrorResume(IllegalArgumentException.class, ex -> {
+                    log.debug("{}", ex.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                });
+    }
+
+    @Operation(summary = "Stream all tasks as a JSON array, or as NDJSON when requested via Accept")
+    @GetMapping(params = "stream=true", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Task> stream(@RequestParam(value = "completed", required = false) Boolean completed) {
+        return service.stream(completed);
+    }
+
+    @Operation(summary = "Get a single task", description = "Answers If-None-Match / If-Modified-Since with 304. " +
+            "Archived tasks are found only with `archived=true`")
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Task>> get(@PathVariable Long id,
+                                          @RequestParam(value = "archived", defaultValue = "false") boolean archived) {
+        return (archived ? service.getArchived(id) : service.get(id))
+                .map(task -> ResponseEntity.ok()
+                        .eTag(eTag(task.getVersion()))
+                        .lastModified(task.getUpdatedAt().toInstant())
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(task))
+                .onErrorResume(IllegalArgumentException.class, ex -> {
+                    log.debug("{}", ex.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+                });
+    }
+
+    @Operation(summary = "Mark a task as completed")
+    @PutMapping("/{id}/complete")
+    public Mono<ResponseEntity<Task>> complete(@PathVariable Long id) {
+        return service.markCompleted(id)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, ex -> {
+                    log.debug("{}", ex.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+                });
+    }
+
+    @Operation(summary = "Mark many tasks as completed, by ids or by a dueBefore filter",
+            description = "Reports which ids were completed, were already completed, or do not exist")
+    @PutMapping("/complete")
+    public Mono<ResponseEntity<BulkCompleteResult>> completeAll(@RequestBody CompleteRequest request) {
+        if (!request.isValid()) {
+            log.debug("Bulk completion needs exactly one of ids or dueBefore");
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        Mono<BulkCompleteResult> result = request.ids() != null
+                ? service.markAllCompleted(request.ids())
+                : service.markAllCompletedDueBefore(request.dueBefore());
+        return result.map(ResponseEntity::ok);
+    }
+}
@@ -1,52 +1,444 @@
 package com.slmakomazi.tasklist.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.slmakomazi.tasklist.config.WireFormatConfig;
 import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskChanges;
+import com.slmakomazi.tasklist.repository.TaskFilter;
+import com.slmakomazi.tasklist.service.BulkCompleteResult;
+import com.slmakomazi.tasklist.service.BulkInsertResult;
+import com.slmakomazi.tasklist.service.IdempotencyConflictException;
+import com.slmakomazi.tasklist.service.IdempotencyService;
+import com.slmakomazi.tasklist.service.IdempotentResult;
+import com.slmakomazi.tasklist.service.TaskArchiveService;
+import com.slmakomazi.tasklist.service.StatsBucket;
+import com.slmakomazi.tasklist.service.TaskBulkService;
+import com.slmakomazi.tasklist.service.TaskCompletionBatcher;
+import com.slmakomazi.tasklist.service.TaskCursor;
+import com.slmakomazi.tasklist.service.TaskEventPage;
+import com.slmakomazi.tasklist.service.TaskEventService;
+import com.slmakomazi.tasklist.service.TaskEventsExpiredException;
+import com.slmakomazi.tasklist.service.TaskImportResult;
+import com.slmakomazi.tasklist.service.TaskPage;
 import com.slmakomazi.tasklist.service.TaskService;
+import com.slmakomazi.tasklist.service.TaskStats;
+import com.slmakomazi.tasklist.service.TaskStatsService;
+import com.slmakomazi.tasklist.service.TaskTransferService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/tasks")
+@Profile("!reactive")
 @Tag(name = "Tasks", description = "Task management API")
 public class TaskController {
     private static final Logger log = LoggerFactory.getLogger(TaskController.class);
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final String CREATE_SCOPE = "create";
+    static final String BULK_SCOPE = "bulk";
+
     private final TaskService service;
+    private final TaskBulkService bulkService;
+    private final TaskCompletionBatcher completions;
+    private final TaskArchiveService archive;
+    private final TaskTransferService transfer;
+    private final TaskStatsService statsService;
+    private final TaskEventService eventService;
+    private final TaskEventStreams eventStreams;
+    private final IdempotencyService idempotency;
+    private final ObjectMapper objectMapper;
 
-    public TaskController(TaskService service) {
+    public TaskController(TaskService service, TaskBulkService bulkService, TaskCompletionBatcher completions,
+                          TaskArchiveService archive, TaskTransferService transfer, TaskStatsService statsService,
+                          TaskEventService eventService, TaskEventStreams eventStreams, IdempotencyService idempotency,
+                          ObjectMapper objectMapper) {
         this.service = service;
+        this.bulkService = bulkService;
+        this.completions = completions;
+        this.archive = archive;
+        this.transfer = transfer;
+        this.statsService = statsService;
+        this.eventService = eventService;
+        this.eventStreams = eventStreams;
+        this.idempotency = idempotency;
+        this.objectMapper = objectMapper;
     }
 
-    @Operation(summary = "Create a new task")
+    @Operation(summary = "Create a new task",
+            description = "With an " + IDEMPOTENCY_KEY_HEADER + " header, a retry gets the first response back, marked " +
+                    REPLAYED_HEADER + ": true, instead of creating the task again. 422 if the key was used for a " +
+                    "different task, 409 if its first request is still running on another node")
     @PostMapping
-    public ResponseEntity<Task> create(@Valid @RequestBody Task task) {
-        Task created = service.create(task);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    public ResponseEntity<Task> create(@Valid @RequestBody Task task,
+                                       @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String key) {
+        if (key == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(service.create(task));
+        }
+        try {
+            IdempotentResult<Task> result = idempotency.execute(CREATE_SCOPE, key, idempotency.fingerprint(task),
+                    Task.class, () -> service.create(task));
+            return idempotent(HttpStatus.CREATED, result);
+        } catch (IdempotencyConflictException ex) {
+            log.debug("{}", ex.getMessage());
+            return conflict(ex);
+        } catch (IllegalArgumentException ex) {
+            log.debug("{}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Create many tasks from a JSON array or NDJSON stream",
+            description = "Valid items are inserted in JDBC batches; invalid items are reported by index. " +
+                    "A retry with the same " + IDEMPOTENCY_KEY_HEADER + " gets the first result back without the body being read")
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkInsertResult> createBulk(InputStream body,
+                                                       @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String key) throws IOException {
+        if (key == null) {
+            return ResponseEntity.ok(bulkService.ingest(body));
+        }
+        try {
+            // Uploads are not fingerprinted: that would mean reading the whole body again
+            IdempotentResult<BulkInsertResult> result = idempotency.execute(BULK_SCOPE, key, null,
+                    BulkInsertResult.class, () -> {
+                        try {
+                            return bulkService.ingest(body);
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+            return idempotent(HttpStatus.OK, result);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } catch (IdempotencyConflictException ex) {
+            log.debug("{}", ex.getMessage());
+            return conflict(ex);
+        } catch (IllegalArgumentException ex) {
+            log.debug("{}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
-    @Operation(summary = "List tasks, optionally filter by completed status")
+    @Operation(summary = "List tasks one page at a time, filtered and sorted by the database",
+            description = "Due-date bounds are exclusive; `overdue` selects open tasks already due; " +
+                    "`descriptionPrefix` is case-sensitive; `sort` is `dueDate` (default) or `-dueDate`. " +
+                    "Pass the " + NEXT_CURSOR_HEADER + " response header back as `cursor`, with the same filters, to fetch the next page. " +
+                    "Send the ETag back as If-None-Match to get 304 while no task has changed; overdue pages have none. " +
+                    "`archived=true` pages through archived tasks instead, by due date only")
     @GetMapping
-    public ResponseEntity<List<Task>> list(@RequestParam(value = "completed", required = false) Boolean completed) {
-        return ResponseEntity.ok(service.list(completed));
+    public ResponseEntity<List<Task>> list(@RequestParam(value = "completed", required = false) Boolean completed,
+                                           @RequestParam(value = "dueAfter", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime dueAfter,
+                                           @RequestParam(value = "dueBefore", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime dueBefore,
+                                           @RequestParam(value = "overdue", defaultValue = "false") boolean overdue,
+                                           @RequestParam(value = "descriptionPrefix", required = false) String descriptionPrefix,
+                                           @RequestParam(value = "sort", required = false) String sort,
+                                           @RequestParam(value = "cursor", required = false) String cursor,
+                                           @RequestParam(value = "limit", defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int limit,
+                                           @RequestParam(value = "archived", defaultValue = "false") boolean archived,
+                                           WebRequest request) {
+        TaskFilter filter;
+        try {
+            filter = listFilter(completed, dueAfter, dueBefore, overdue, descriptionPrefix, sort, cursor, archived);
+        } catch (IllegalArgumentException ex) {
+            log.debug("{}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        // Read the counter before the page: a write landing in between is served under
+        // the older ETag, which at worst costs the client one more full response.
+        TaskChanges changes = service.changes();
+        String eTag = eTag(changes.version());
+        if (!filter.overdue() && request.checkNotModified(eTag, changes.changedAt().toInstant().toEpochMilli())) {
+            return null;
+        }
+        try {
+            TaskPage page = archived
+                    ? archive.list(cursor, limit)
+                    : service.list(filter, cursor, limit, changes.version());
+            ResponseEntity.BodyBuilder response = validated(ResponseEntity.ok(), filter, eTag, changes)
+                    .varyBy(HttpHeaders.ACCEPT);
+            if (page.next() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.next());
+            }
+            return response.body(page.items());
+        } catch (IllegalArgumentException ex) {
+            log.debug("{}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
-    @Operation(summary = "Mark a task as completed")
+    @Operation(summary = "Search task descriptions, best match first",
+            description = "Full-text search on PostgreSQL. Page with `cursor` and the " + NEXT_CURSOR_HEADER + " header as for the list")
+    @GetMapping("/search")
+    public ResponseEntity<List<Task>> search(@RequestParam("q") String query,
+                                             @RequestParam(value = "cursor", required = false) String cursor,
+                                             @RequestParam(value = "limit", defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            TaskPage page = service.search(query, cursor, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.next() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.next());
+            }
+            return response.body(page.items());
+        } catch (IllegalArgumentException ex) {
+            log.debug("{}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Count open, completed and overdue tasks, with due dates per day or week",
+            description = "`bucket` is `day` (default) or `week`; may be up to tasklist.stats.max-staleness old, see `computedAt`")
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> stats(@RequestParam(value = "bucket", required = false) String bucket) {
+        try {
+            return ResponseEntity.ok(statsService.stats(StatsBucket.parse(bucket)));
+        } catch (IllegalArgumentException ex) {
+            log.debug("{}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Follow task changes by position instead of re-reading the list",
+            description = "Without `since`, returns the current position as `next`. With it, returns the events after it, " +
+                    "each with the task as it is now. `wait` (seconds, at most 25) long-polls while there are none yet. " +
+                    "410 Gone means the events after `since` were purged: reload the list and start again")
+    @GetMapping("/changes")
+    public CompletableFuture<ResponseEntity<TaskEventPage>> changes(@RequestParam(value = "since", required = false) Long since,
+                                                                    @RequestParam(value = "limit", defaultValue = "" + TaskEventService.DEFAULT_PAGE_SIZE) int limit,
+                                                                    @RequestParam(value = "wait", defaultValue = "0") int wait) {
+        try {
+            return eventService.changes(since, limit, Duration.ofSeconds(wait)).thenApply(ResponseEntity::ok);
+        } catch (TaskEventsExpiredException ex) {
+            log.debug("{}", ex.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.GONE).build());
+        } catch (IllegalArgumentException ex) {
+            log.debug("{}", ex.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+    }
+
+    @Operation(summary = "Push task changes as Server-Sent Events while they commit",
+            description = "Each event's id is its position and its data is the event as in /changes. Reconnect with " +
+                    "Last-Event-ID to resume; 410 Gone means that position was purged. A client that falls " +
+                    "tasklist.stream.buffer-size events behind is disconnected")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        try {
+            return ResponseEntity.ok(eventStreams.open(lastEventId));
+        } catch (TaskEventsExpiredException ex) {
+            log.debug("{}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        } catch (IllegalArgumentException ex) {
+            log.debug("{}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Stream all tasks as a JSON array, or as NDJSON when requested via Accept")
+    @GetMapping(params = "stream=true")
+    public void stream(@RequestParam(value = "completed", required = false) Boolean completed,
+                       @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                       HttpServletResponse response) throws IOException {
+        boolean ndjson = accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setContentType((ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON).toString());
+        // On the request thread, as export does: a StreamingResponseBody over a large table
+        // would be cut off mid-array by the servlet async timeout
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            if (ndjson) {
+                generator.setRootValueSeparator(null);
+            } else {
+                generator.writeStartArray();
+            }
+            service.stream(completed, task -> {
+                try {
+                    generator.writeObject(task);
+                    if (ndjson) {
+                        generator.writeRaw('\n');
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @Operation(summary = "Export tasks as CSV, or as NDJSON when requested via Accept",
+            description = "Written straight from a database cursor in constant memory, however many tasks there are")
+    @GetMapping(value = "/export", produces = {WireFormatConfig.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public void export(@RequestParam(value = "completed", required = false) Boolean completed,
+                       @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                       HttpServletResponse response) throws IOException {
+        TaskTransferService.Format format = TaskTransferService.Format.of(accept);
+        response.setContentType(format.mediaType().toString());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("tasks." + format.extension()).build().toString());
+        // On the request thread rather than a StreamingResponseBody: a large export would
+        // outlast the servlet async timeout
+        transfer.export(completed, format, response.getOutputStream());
+    }
+
+    @Operation(summary = "Import tasks from CSV with a header row, or from NDJSON",
+            description = "Parsed one row at a time and inserted in JDBC batches, so files of any size are " +
+                    "read in constant memory. Only counts and the first rejected rows are reported")
+    @PostMapping(value = "/import", consumes = {WireFormatConfig.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<TaskImportResult> importTasks(InputStream body,
+                                                        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) throws IOException {
+        try {
+            return ResponseEntity.ok(transfer.importTasks(TaskTransferService.Format.of(contentType), body));
+        } catch (JsonProcessingException ex) {
+            log.debug("{}", ex.getOriginalMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get a single task", description = "Answers If-None-Match / If-Modified-Since with 304. " +
+            "Archived tasks are found only with `archived=true`")
+    @GetMapping("/{id}")
+    public ResponseEntity<Task> get(@PathVariable Long id,
+                                    @RequestParam(value = "archived", defaultValue = "false") boolean archived) {
+        try {
+            Task task = archived ? archive.get(id) : service.get(id);
+            // The conditional headers are checked against these before the body is written
+            return ResponseEntity.ok()
+                    .eTag(eTag(task.getVersion()))
+                    .lastModified(task.getUpdatedAt().toInstant())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(task);
+        } catch (IllegalArgumentException ex) {
+            log.debug("{}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    @Operation(summary = "Mark a task as completed",
+            description = "With tasklist.completions.write-behind enabled, answered once the completion's batch commits")
     @PutMapping("/{id}/complete")
-    public ResponseEntity<Task> complete(@PathVariable Long id) {
+    public CompletableFuture<ResponseEntity<Task>> complete(@PathVariable Long id) {
+        if (completions.isEnabled()) {
+            return completions.complete(id)
+                    .thenApply(ResponseEntity::ok)
+                    .exceptionally(ex -> {
+                        Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                        if (cause instanceof IllegalArgumentException) {
+                            log.debug("{}", cause.getMessage());
+                            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+                        }
+                        throw ex instanceof CompletionException completion ? completion : new CompletionException(ex);
+                    });
+        }
         try {
             Task updated = service.markCompleted(id);
-            return ResponseEntity.ok(updated);
+            return CompletableFuture.completedFuture(ResponseEntity.ok(updated));
         } catch (IllegalArgumentException ex) {
-            log.warn("{}", ex.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            log.debug("{}", ex.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        }
+    }
+
+    @Operation(summary = "Mark many tasks as completed, by ids or by a dueBefore filter",
+            description = "Reports which ids were completed, were already completed, or do not exist")
+    @PutMapping("/complete")
+    public ResponseEntity<BulkCompleteResult> completeAll(@RequestBody CompleteRequest request) {
+        if (!request.isValid()) {
+            log.debug("Bulk completion needs exactly one of ids or dueBefore");
+            return ResponseEntity.badRequest().build();
         }
+        BulkCompleteResult result = request.ids() != null
+                ? service.markAllCompleted(request.ids())
+                : service.markAllCompletedDueBefore(request.dueBefore());
+        return ResponseEntity.ok(result);
+    }
+
+    static void checkArchivable(TaskFilter filter) {
+        if (!filter.isArchivable()) {
+            throw new IllegalArgumentException("Archived tasks are completed and listed by due date only");
+        }
+    }
+
+    /**
+     * The list request's filter, checked together with its cursor before any 304 is
+     * considered, so an invalid request always gets 400.
+     */
+    static TaskFilter listFilter(Boolean completed, OffsetDateTime dueAfter, OffsetDateTime dueBefore, boolean overdue,
+                                 String descriptionPrefix, String sort, String cursor, boolean archived) {
+        TaskFilter filter = filter(completed, dueAfter, dueBefore, overdue, descriptionPrefix, sort);
+        if (archived) {
+            checkArchivable(filter);
+        }
+        if (cursor != null) {
+            TaskCursor.decode(cursor);
+        }
+        return filter;
+    }
+
+    static TaskFilter filter(Boolean completed, OffsetDateTime dueAfter, OffsetDateTime dueBefore,
+                             boolean overdue, String descriptionPrefix, String sort) {
+        return new TaskFilter(completed, dueAfter, dueBefore, overdue, descriptionPrefix, TaskFilter.isDescending(sort));
+    }
+
+    static <T> ResponseEntity<T> idempotent(HttpStatus status, IdempotentResult<T> result) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (result.replayed()) {
+            response.header(REPLAYED_HEADER, "true");
+        }
+        return response.body(result.response());
+    }
+
+    static <T> ResponseEntity<T> conflict(IdempotencyConflictException ex) {
+        return ResponseEntity.status(ex.isInProgress() ? HttpStatus.CONFLICT : HttpStatus.UNPROCESSABLE_ENTITY).build();
+    }
+
+    /**
+     * Weak, because the same version is served as JSON or Smile, gzipped or not; Tomcat
+     * also refuses to compress a response that has a strong ETag.
+     */
+    /**
+     * Adds the list's validators, or {@code no-cache} for overdue pages: those change as
+     * tasks fall due, without a write to move the ETag.
+     */
+    static ResponseEntity.BodyBuilder validated(ResponseEntity.BodyBuilder response, TaskFilter filter,
+                                                String eTag, TaskChanges changes) {
+        if (filter.overdue()) {
+            return response.cacheControl(CacheControl.noCache());
+        }
+        return response.eTag(eTag).lastModified(changes.changedAt().toInstant());
+    }
+
+    static String eTag(Long version) {
+        return "W/\"" + version + "\"";
     }
 }
@@ -0,0 +1,221 @@
+package com.slmakomazi.tasklist.controller;
+
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import com.slmakomazi.tasklist.service.TaskEventPage;
+import com.slmakomazi.tasklist.service.TaskEventService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes published task events to {@code GET /api/tasks/stream} connections.
+ * <p>
+ * The relay hands over each new position once; the events are then read with one query
+ * and offered to every connection's bounded buffer, so fan-out costs the same however
+ * many clients listen. An idle connection holds no thread: a virtual thread drains a
+ * buffer only while it has something to send. A client that lets its buffer fill up is
+ * disconnected and can resume with {@code Last-Event-ID}.
+ */
+@Component
+@Profile("!reactive")
+public class TaskEventStreams implements MeterBinder, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(TaskEventStreams.class);
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final TaskEventService events;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    // Last position fanned out; -1 until the first relay run
+    private final AtomicLong head = new AtomicLong(-1);
+    private final AtomicLong evicted = new AtomicLong();
+
+    public TaskEventStreams(TaskEventService events,
+                            @Value("${tasklist.stream.buffer-size:256}") int bufferSize,
+                            @Value("${tasklist.stream.timeout:PT30M}") Duration timeout) {
+        this.events = events;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        events.onPublished(this::publishedThrough);
+    }
+
+    /**
+     * Opens a stream of the events after {@code lastEventId}, or from now when it is null.
+     *
+     * @throws IllegalArgumentException if {@code lastEventId} is not a known position
+     * @throws com.slmakomazi.tasklist.service.TaskEventsExpiredException if it was purged
+     */
+    public SseEmitter open(Long lastEventId) {
+        TaskEventPage first = events.changes(lastEventId, TaskEventService.MAX_PAGE_SIZE);
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeout.toMillis()));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(ex -> subscribers.remove(subscriber));
+        // Registered before the catch-up below, so no event falls between the two
+        subscribers.add(subscriber);
+        long after = lastEventId != null ? lastEventId : first.next();
+        senders.execute(() -> subscriber.catchUp(first, after));
+        log.debug("Opened task event stream after position {}", after);
+        return subscriber.emitter;
+    }
+
+    /** Runs on the relay thread; must not block on clients. */
+    void publishedThrough(long position) {
+        long from = head.getAndAccumulate(position, Math::max);
+        if (from < 0 || position <= from || subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            long next = from;
+            while (next < position) {
+                TaskEventPage page = events.changes(next, TaskEventService.MAX_PAGE_SIZE);
+                if (page.events().isEmpty()) {
+                    break;
+                }
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.offer(page.events());
+                }
+                next = page.next();
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not fan out task events after position {}: {}", from, ex.getMessage());
+        }
+    }
+
+    /** Keeps idle connections open through proxies and finds clients that went away. */
+    @Scheduled(fixedDelayString = "${tasklist.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(List.of(HEARTBEAT));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasklist.stream.subscribers", subscribers, Set::size)
+                .description("Open GET /api/tasks/stream connections")
+                .register(registry);
+        FunctionCounter.builder("tasklist.stream.evicted", evicted, AtomicLong::get)
+                .description("Stream connections closed because the client fell a full buffer behind")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<Object> buffer = new ArrayBlockingQueue<>(bufferSize);
+        // Held by whoever is sending; starts taken so nothing drains before the catch-up
+        final AtomicBoolean sending = new AtomicBoolean(true);
+        volatile boolean overrun;
+        long lastSent;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(List<?> items) {
+            for (Object item : items) {
+                if (!buffer.offer(item)) {
+                    overrun = true;
+                    buffer.clear();
+                    break;
+                }
+            }
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        /** Sends the outbox from {@code after} on, starting with {@code first}, then the live buffer. */
+        void catchUp(TaskEventPage first, long after) {
+            try {
+                lastSent = after;
+                TaskEventPage page = first;
+                do {
+                    for (TaskEvent event : page.events()) {
+                        send(event);
+                    }
+                    page = events.changes(page.next(), TaskEventService.MAX_PAGE_SIZE);
+                } while (!page.events().isEmpty());
+            } catch (IOException | RuntimeException ex) {
+                fail(ex);
+                return;
+            }
+            drain();
+        }
+
+        void drain() {
+            try {
+                do {
+                    Object item;
+                    while (!overrun && (item = buffer.poll()) != null) {
+                        if (item == HEARTBEAT) {
+                            emitter.send(SseEmitter.event().comment("heartbeat"));
+                        } else {
+                            send((TaskEvent) item);
+                        }
+                    }
+                    if (overrun) {
+                        evict();
+                        return;
+                    }
+                    sending.set(false);
+                } while (!buffer.isEmpty() && sending.compareAndSet(false, true));
+            } catch (IOException | RuntimeException ex) {
+                fail(ex);
+            }
+        }
+
+        private void send(TaskEvent event) throws IOException {
+            // Live events the catch-up already sent are skipped
+            if (event.position() <= lastSent) {
+                return;
+            }
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.position()))
+                    .data(event, MediaType.APPLICATION_JSON));
+            lastSent = event.position();
+        }
+
+        private void evict() {
+            subscribers.remove(this);
+            evicted.incrementAndGet();
+            log.debug("Closed task event stream at position {}: client is {} events behind", lastSent, bufferSize);
+            emitter.complete();
+        }
+
+        private void fail(Exception ex) {
+            subscribers.remove(this);
+            log.debug("Task event stream closed: {}", ex.getMessage());
+            emitter.completeWithError(ex);
+        }
+    }
+}
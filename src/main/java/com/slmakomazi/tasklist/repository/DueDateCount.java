@@ -0,0 +1,10 @@
+package com.slmakomazi.tasklist.repository;
+
+import java.time.LocalDate;
+
+/**
+ * One row of the grouped stats query: task counts for a UTC due date inside the requested
+ * window, or for every task outside it when {@code day} is null.
+ */
+public record DueDateCount(LocalDate day, long total, long completed, long overdue) {
+}
@@ -0,0 +1,8 @@
+package com.slmakomazi.tasklist.repository;
+
+/**
+ * A stored Idempotency-Key: the fingerprint of the request that claimed it and, once
+ * that request finished, its response as JSON. {@code response} is null while it runs.
+ */
+public record IdempotencyRecord(String fingerprint, String response) {
+}
@@ -0,0 +1,71 @@
+package com.slmakomazi.tasklist.repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The {@code idempotency_keys} table. Each statement runs on its own, outside the
+ * transaction of the request it guards, so a claim is visible to other nodes at once.
+ */
+@Repository
+@Profile("!reactive")
+public class IdempotencyRepository {
+    static final String CLAIM_SQL =
+            "INSERT INTO idempotency_keys (id, fingerprint, claimed_at) VALUES (:id, :fingerprint, :now)";
+    static final String TAKE_OVER_SQL =
+            "UPDATE idempotency_keys SET fingerprint = :fingerprint, claimed_at = :now " +
+            "WHERE id = :id AND response IS NULL AND claimed_at < :staleBefore";
+    static final String FIND_SQL = "SELECT fingerprint, response FROM idempotency_keys WHERE id = :id";
+    static final String COMPLETE_SQL = "UPDATE idempotency_keys SET response = :response WHERE id = :id";
+    static final String RELEASE_SQL = "DELETE FROM idempotency_keys WHERE id = :id AND response IS NULL";
+    static final String PURGE_SQL = "DELETE FROM idempotency_keys WHERE claimed_at < :before";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public IdempotencyRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Claims {@code id} for the caller. Fails if another request holds it, unless that
+     * claim has no response and is older than {@code staleBefore}.
+     */
+    public boolean claim(String id, String fingerprint, OffsetDateTime now, OffsetDateTime staleBefore) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("fingerprint", fingerprint)
+                .addValue("now", now)
+                .addValue("staleBefore", staleBefore);
+        try {
+            return jdbcTemplate.update(CLAIM_SQL, params) == 1;
+        } catch (DuplicateKeyException ex) {
+            return jdbcTemplate.update(TAKE_OVER_SQL, params) == 1;
+        }
+    }
+
+    public Optional<IdempotencyRecord> find(String id) {
+        return jdbcTemplate.query(FIND_SQL, Map.of("id", id), (rs, rowNum) ->
+                new IdempotencyRecord(rs.getString("fingerprint"), rs.getString("response"))).stream().findFirst();
+    }
+
+    public void complete(String id, String response) {
+        jdbcTemplate.update(COMPLETE_SQL, Map.of("id", id, "response", response));
+    }
+
+    /** Drops an unfinished claim so the key can be retried. */
+    public void release(String id) {
+        jdbcTemplate.update(RELEASE_SQL, Map.of("id", id));
+    }
+
+    /** Deletes keys claimed before {@code before}; returns how many. */
+    public int purge(OffsetDateTime before) {
+        return jdbcTemplate.update(PURGE_SQL, Map.of("before", before));
+    }
+}
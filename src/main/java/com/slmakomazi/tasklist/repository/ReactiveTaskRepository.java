@@ -0,0 +1,356 @@
+package com.slmakomazi.tasklist.repository;
+
+import com.slmakomazi.tasklist.model.Task;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * R2DBC twin of {@link TaskRepository} for the reactive profile. Queries mirror the JPA
+ * ones so both stacks page, stream and complete tasks through the same indexes.
+ * <p>
+ * Written against {@link DatabaseClient} rather than as a Spring Data repository: with
+ * JPA on the classpath, {@code @Entity} would make Spring Data JPA claim any repository
+ * of {@link Task}, reactive or not.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveTaskRepository {
+    private static final String COLUMNS = "SELECT id, description, due_date, completed, version, updated_at FROM tasks ";
+    private static final String INSERT_SQL =
+            "INSERT INTO tasks (description, due_date, completed, version, updated_at) VALUES ($1, $2, $3, 0, $4)";
+    private static final String APPEND_EVENT_SQL =
+            "INSERT INTO task_events (task_id, type, occurred_at) VALUES ($1, $2, $3)";
+    private static final String NUMBER_EVENT_SQL = "UPDATE task_events SET position = $1 WHERE id = $2";
+
+    private final DatabaseClient client;
+    private final TaskSearchQueries searchQueries;
+
+    public ReactiveTaskRepository(DatabaseClient client) {
+        this.client = client;
+        this.searchQueries = TaskSearchQueries.forDatabase(client.getConnectionFactory().getMetadata().getName());
+    }
+
+    public Mono<Task> save(Task task) {
+        return insertAll(List.of(task)).single().map(id -> {
+            task.setId(id);
+            task.setVersion(0L);
+            return task;
+        });
+    }
+
+    /** Inserts all rows as one batched statement and emits their generated ids in order. */
+    public Flux<Long> insertAll(List<Task> tasks) {
+        return client.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(INSERT_SQL).returnGeneratedValues("id");
+            for (int i = 0; i < tasks.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                Task task = tasks.get(i);
+                task.setUpdatedAt(OffsetDateTime.now());
+                statement.bind(0, task.getDescription())
+                        .bind(1, task.getDueDate())
+                        .bind(2, task.isCompleted())
+                        .bind(3, task.getUpdatedAt());
+            }
+            return Flux.from(statement.execute())
+                    .concatMap(result -> result.map(row -> row.get(0, Long.class)));
+        });
+    }
+
+    public Mono<Task> findById(Long id) {
+        return client.sql(COLUMNS + "WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveTaskRepository::toTask)
+                .one();
+    }
+
+    // Keyset pages ordered by (dueDate, id); the id tie-breaker keeps the order total.
+
+    public Flux<Task> findFirstPage(int limit) {
+        return client.sql(COLUMNS + "ORDER BY due_date, id LIMIT :limit")
+                .bind("limit", limit)
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    public Flux<Task> findFirstPage(boolean completed, int limit) {
+        return client.sql(COLUMNS + "WHERE completed = :completed ORDER BY due_date, id LIMIT :limit")
+                .bind("completed", completed)
+                .bind("limit", limit)
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    public Flux<Task> findPageAfter(OffsetDateTime dueDate, Long id, int limit) {
+        return client.sql(COLUMNS + "WHERE due_date > :dueDate OR (due_date = :dueDate AND id > :id) " +
+                        "ORDER BY due_date, id LIMIT :limit")
+                .bind("dueDate", dueDate)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    public Flux<Task> findPageAfter(boolean completed, OffsetDateTime dueDate, Long id, int limit) {
+        return client.sql(COLUMNS + "WHERE completed = :completed " +
+                        "AND (due_date > :dueDate OR (due_date = :dueDate AND id > :id)) " +
+                        "ORDER BY due_date, id LIMIT :limit")
+                .bind("completed", completed)
+                .bind("dueDate", dueDate)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    // Archived tasks, moved out of tasks by the servlet stack's TaskArchiveService
+
+    public Mono<Task> findArchivedById(Long id) {
+        return client.sql(TaskArchiveRepository.FIND_BY_ID_SQL)
+                .bind("id", id)
+                .map(ReactiveTaskRepository::toTask)
+                .one();
+    }
+
+    public Flux<Task> findArchivedPage(OffsetDateTime afterDueDate, Long afterId, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = afterDueDate == null
+                ? client.sql(TaskArchiveRepository.FIRST_PAGE_SQL)
+                : client.sql(TaskArchiveRepository.PAGE_AFTER_SQL).bind("dueDate", afterDueDate).bind("id", afterId);
+        return spec.bind("limit", limit)
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    /**
+     * Keyset page of the tasks matching {@code filter}, the SQL twin of
+     * {@link TaskSpecifications}. Pass a null {@code afterDueDate} for the first page.
+     */
+    public Flux<Task> findPage(TaskFilter filter, OffsetDateTime now, OffsetDateTime afterDueDate, Long afterId, int limit) {
+        List<String> where = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        if (filter.completed() != null) {
+            where.add("completed = :completed");
+            parameters.put("completed", filter.completed());
+        }
+        if (filter.overdue()) {
+            where.add("completed = false AND due_date < :now");
+            parameters.put("now", now);
+        }
+        if (filter.dueAfter() != null) {
+            where.add("due_date > :dueAfter");
+            parameters.put("dueAfter", filter.dueAfter());
+        }
+        if (filter.dueBefore() != null) {
+            where.add("due_date < :dueBefore");
+            parameters.put("dueBefore", filter.dueBefore());
+        }
+        if (filter.descriptionPrefix() != null) {
+            where.add("description LIKE :prefix ESCAPE '\\'");
+            parameters.put("prefix", TaskFilter.likePrefix(filter.descriptionPrefix()));
+        }
+        String op = filter.descending() ? "<" : ">";
+        if (afterDueDate != null) {
+            where.add("(due_date " + op + " :afterDueDate OR (due_date = :afterDueDate AND id " + op + " :afterId))");
+            parameters.put("afterDueDate", afterDueDate);
+            parameters.put("afterId", afterId);
+        }
+        parameters.put("limit", limit);
+        String direction = filter.descending() ? " DESC" : "";
+        return client.sql(COLUMNS + (where.isEmpty() ? "" : "WHERE " + String.join(" AND ", where) + " ") +
+                        "ORDER BY due_date" + direction + ", id" + direction + " LIMIT :limit")
+                .bindValues(parameters)
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    /** Ranked description search, see {@link TaskSearchRepository#search}. */
+    public Flux<TaskSearchHit> search(String query, Float afterScore, Long afterId, int limit) {
+        return client.sql(searchQueries.sql(query, afterScore != null))
+                .bindValues(searchQueries.parameters(query, afterScore, afterId, limit))
+                .map(row -> new TaskSearchHit(toTask(row), row.get("score", Float.class)))
+                .all();
+    }
+
+    // Unbounded results; rows are pulled from the driver as the subscriber requests them.
+
+    public Flux<Task> streamAll() {
+        return client.sql(COLUMNS + "ORDER BY due_date, id")
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    public Flux<Task> streamByCompleted(boolean completed) {
+        return client.sql(COLUMNS + "WHERE completed = :completed ORDER BY due_date, id")
+                .bind("completed", completed)
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    // Set-based completion: one UPDATE per call instead of load, flip and save.
+
+    public Mono<Long> markCompleted(Long id) {
+        return client.sql("UPDATE tasks SET completed = true, version = version + 1, updated_at = :now " +
+                        "WHERE id = :id AND completed = false")
+                .bind("now", OffsetDateTime.now())
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> markAllCompleted(Collection<Long> ids) {
+        return client.sql("UPDATE tasks SET completed = true, version = version + 1, updated_at = :now " +
+                        "WHERE id IN (:ids) AND completed = false")
+                .bind("now", OffsetDateTime.now())
+                .bind("ids", ids)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Completed flag per existing id, ids without a row being absent from the map. The rows
+     * stay locked, taken in id order, until the surrounding transaction ends.
+     */
+    public Mono<Map<Long, Boolean>> lockCompletionStates(Collection<Long> ids) {
+        return client.sql("SELECT id, completed FROM tasks WHERE id IN (:ids) ORDER BY id FOR UPDATE")
+                .bind("ids", ids)
+                .map(row -> Map.entry(row.get("id", Long.class), row.get("completed", Boolean.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /** Keyset page of open task ids due before {@code dueBefore}, after {@code afterId}. */
+    public Flux<Long> findOpenIdsDueBefore(OffsetDateTime dueBefore, long afterId, int limit) {
+        return client.sql("SELECT id FROM tasks WHERE completed = false AND due_date < :dueBefore AND id > :afterId " +
+                        "ORDER BY id LIMIT :limit")
+                .bind("dueBefore", dueBefore)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(row -> row.get("id", Long.class))
+                .all();
+    }
+
+    /** See {@link TaskStatsRepository#countByDueDay}. */
+    public Flux<DueDateCount> countByDueDay(OffsetDateTime from, OffsetDateTime to, OffsetDateTime now) {
+        return client.sql(TaskStatsRepository.COUNT_BY_DUE_DAY_SQL)
+                .bind("from", from)
+                .bind("to", to)
+                .bind("now", now)
+                .map(row -> new DueDateCount(row.get("due_day", LocalDate.class), row.get("total", Long.class),
+                        row.get("completed", Long.class), row.get("overdue", Long.class)))
+                .all();
+    }
+
+    // Table-level change counter, see TaskChangeRepository. Callers bump it last in their transaction.
+
+    public Mono<TaskChanges> currentChanges() {
+        return client.sql("SELECT version, changed_at FROM task_changes WHERE id = 1")
+                .map(row -> new TaskChanges(row.get("version", Long.class), row.get("changed_at", OffsetDateTime.class)))
+                .one();
+    }
+
+    public Mono<Void> recordChange() {
+        return client.sql("UPDATE task_changes SET version = version + 1, changed_at = :now WHERE id = 1")
+                .bind("now", OffsetDateTime.now())
+                .then();
+    }
+
+    // Outbox, see TaskEventRepository. Appends join the caller's transaction.
+
+    public Mono<Void> appendEvents(TaskEvent.Type type, List<Long> taskIds, OffsetDateTime occurredAt) {
+        if (taskIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return client.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(APPEND_EVENT_SQL);
+            for (int i = 0; i < taskIds.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                statement.bind(0, taskIds.get(i)).bind(1, type.name()).bind(2, occurredAt);
+            }
+            return Flux.from(statement.execute()).concatMap(result -> result.getRowsUpdated());
+        }).then();
+    }
+
+    public Flux<Long> findUnpublishedEvents(int limit) {
+        return client.sql(TaskEventRepository.UNPUBLISHED_SQL)
+                .bind("limit", limit)
+                .map(row -> row.get("id", Long.class))
+                .all();
+    }
+
+    public Mono<Long> lockEventRelay() {
+        return client.sql(TaskEventRepository.LOCK_RELAY_SQL)
+                .map(row -> row.get("last_position", Long.class))
+                .one();
+    }
+
+    public Mono<Long> publishEvents(List<Long> ids, long after) {
+        long last = after + ids.size();
+        return client.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(NUMBER_EVENT_SQL);
+                    for (int i = 0; i < ids.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        statement.bind(0, after + 1 + i).bind(1, ids.get(i));
+                    }
+                    return Flux.from(statement.execute()).concatMap(result -> result.getRowsUpdated());
+                })
+                .then(client.sql(TaskEventRepository.ADVANCE_SQL).bind("position", last).then())
+                .thenReturn(last);
+    }
+
+    public Mono<TaskEventRelay> eventRelay() {
+        return client.sql(TaskEventRepository.RELAY_SQL)
+                .map(row -> new TaskEventRelay(row.get("last_position", Long.class), row.get("purged_through", Long.class)))
+                .one();
+    }
+
+    public Flux<TaskEvent> findEventsAfter(long since, int limit) {
+        return client.sql(TaskEventRepository.AFTER_SQL)
+                .bind("since", since)
+                .bind("limit", limit)
+                .map(row -> new TaskEvent(row.get("position", Long.class), row.get("task_id", Long.class),
+                        TaskEvent.Type.valueOf(row.get("type", String.class)), row.get("occurred_at", OffsetDateTime.class),
+                        row.get("id", Long.class) == null ? null : toTask(row)))
+                .all();
+    }
+
+    /** See {@link TaskEventRepository#purge}. */
+    public Mono<Long> purgeEvents(OffsetDateTime before) {
+        return client.sql(TaskEventRepository.PURGE_THROUGH_SQL)
+                .bind("before", before)
+                .map(row -> Optional.ofNullable(row.get(0, Long.class)))
+                .one()
+                .flatMap(through -> through
+                        .map(position -> client.sql(TaskEventRepository.PURGE_SQL).bind("through", position).fetch().rowsUpdated()
+                                .flatMap(deleted -> client.sql(TaskEventRepository.PURGED_SQL).bind("through", position)
+                                        .then().thenReturn(deleted)))
+                        .orElse(Mono.just(0L)));
+    }
+
+    private static Task toTask(Readable row) {
+        Task task = new Task(row.get("description", String.class), row.get("due_date", OffsetDateTime.class));
+        task.setId(row.get("id", Long.class));
+        task.setCompleted(Boolean.TRUE.equals(row.get("completed", Boolean.class)));
+        task.setVersion(row.get("version", Long.class));
+        task.setUpdatedAt(row.get("updated_at", OffsetDateTime.class));
+        return task;
+    }
+}
@@ -0,0 +1,82 @@
+package com.slmakomazi.tasklist.repository;
+
+import com.slmakomazi.tasklist.model.Task;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Moves completed tasks from {@code tasks} to {@code tasks_archive} and reads them back.
+ * Archived rows are all completed and never change, so they are read with plain keyset
+ * queries and nothing else; the hot table's indexes and queries never see them.
+ */
+@Repository
+@Profile("!reactive")
+public class TaskArchiveRepository {
+
+    static final String ARCHIVABLE_SQL =
+            "SELECT id FROM tasks WHERE completed = true AND updated_at < :before " +
+            "ORDER BY updated_at LIMIT :limit FOR UPDATE SKIP LOCKED";
+    static final String COPY_SQL =
+            "INSERT INTO tasks_archive (id, description, due_date, version, updated_at, archived_at) " +
+            "SELECT id, description, due_date, version, updated_at, :now FROM tasks WHERE id IN (:ids)";
+    static final String DELETE_SQL = "DELETE FROM tasks WHERE id IN (:ids)";
+    static final String COLUMNS =
+            "SELECT id, description, due_date, TRUE AS completed, version, updated_at FROM tasks_archive ";
+    static final String FIND_BY_ID_SQL = COLUMNS + "WHERE id = :id";
+    static final String FIRST_PAGE_SQL = COLUMNS + "ORDER BY due_date, id LIMIT :limit";
+    static final String PAGE_AFTER_SQL = COLUMNS + "WHERE due_date > :dueDate OR (due_date = :dueDate AND id > :id) " +
+            "ORDER BY due_date, id LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TaskArchiveRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks up to {@code limit} tasks completed and unchanged since before {@code before},
+     * skipping any another node is moving. Must run in a transaction, followed by
+     * {@link #move} for the ids returned.
+     */
+    public List<Long> findArchivable(OffsetDateTime before, int limit) {
+        return jdbcTemplate.queryForList(ARCHIVABLE_SQL, Map.of("before", before, "limit", limit), Long.class);
+    }
+
+    /** Copies the tasks into the archive and deletes them from {@code tasks}. */
+    public void move(Collection<Long> ids, OffsetDateTime now) {
+        jdbcTemplate.update(COPY_SQL, new MapSqlParameterSource().addValue("ids", ids).addValue("now", now));
+        jdbcTemplate.update(DELETE_SQL, Map.of("ids", ids));
+    }
+
+    public Optional<Task> findById(Long id) {
+        return jdbcTemplate.query(FIND_BY_ID_SQL, Map.of("id", id), (rs, rowNum) -> toTask(rs)).stream().findFirst();
+    }
+
+    /** Keyset page ordered by (dueDate, id); a null {@code afterDueDate} starts from the top. */
+    public List<Task> findPage(OffsetDateTime afterDueDate, Long afterId, int limit) {
+        if (afterDueDate == null) {
+            return jdbcTemplate.query(FIRST_PAGE_SQL, Map.of("limit", limit), (rs, rowNum) -> toTask(rs));
+        }
+        return jdbcTemplate.query(PAGE_AFTER_SQL, Map.of("dueDate", afterDueDate, "id", afterId, "limit", limit),
+                (rs, rowNum) -> toTask(rs));
+    }
+
+    private static Task toTask(ResultSet rs) throws SQLException {
+        Task task = new Task(rs.getString("description"), rs.getObject("due_date", OffsetDateTime.class));
+        task.setId(rs.getLong("id"));
+        task.setCompleted(true);
+        task.setVersion(rs.getLong("version"));
+        task.setUpdatedAt(rs.getObject("updated_at", OffsetDateTime.class));
+        return task;
+    }
+}
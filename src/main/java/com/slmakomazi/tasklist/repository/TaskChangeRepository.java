@@ -0,0 +1,75 @@
+package com.slmakomazi.tasklist.repository;
+
+import com.slmakomazi.tasklist.config.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Reads and bumps the single-row {@code task_changes} counter.
+ * <p>
+ * The bump runs in the writing transaction just before it commits, so it commits or rolls
+ * back with the write, and the counter row lock is held only for the commit. A reader
+ * can still read the counter, then see rows committed after it; that only costs the
+ * client one extra full response, never a stale 304.
+ * <p>
+ * Every change time read or written here is passed to the replica router, if there is
+ * one, so reads stay on the primary until replicas have caught up with it.
+ */
+@Repository
+@Profile("!reactive")
+public class TaskChangeRepository {
+    static final String SELECT_SQL = "select version, changed_at from task_changes where id = 1";
+    static final String BUMP_SQL = "update task_changes set version = version + 1, changed_at = ? where id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRouting;
+
+    public TaskChangeRepository(JdbcTemplate jdbcTemplate, ObjectProvider<ReplicaRoutingDataSource> replicaRouting) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.replicaRouting = replicaRouting;
+    }
+
+    public TaskChanges current() {
+        TaskChanges changes = jdbcTemplate.queryForObject(SELECT_SQL, (rs, rowNum) ->
+                new TaskChanges(rs.getLong("version"), rs.getObject("changed_at", OffsetDateTime.class)));
+        replicaRouting.ifAvailable(routing -> routing.noteChange(changes.changedAt().toInstant()));
+        return changes;
+    }
+
+    /** Bumps the counter now, or just before the surrounding transaction commits if there is one. */
+    public void recordChange() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private OffsetDateTime now;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    now = bump();
+                }
+
+                @Override
+                public void afterCommit() {
+                    noteChange(now);
+                }
+            });
+        } else {
+            noteChange(bump());
+        }
+    }
+
+    private OffsetDateTime bump() {
+        OffsetDateTime now = OffsetDateTime.now();
+        jdbcTemplate.update(BUMP_SQL, now);
+        return now;
+    }
+
+    private void noteChange(OffsetDateTime now) {
+        replicaRouting.ifAvailable(routing -> routing.noteChange(now.toInstant()));
+    }
+}
@@ -0,0 +1,7 @@
+package com.slmakomazi.tasklist.repository;
+
+import java.time.OffsetDateTime;
+
+/** Value of the table-level change counter: bumped once per committed write to {@code tasks}. */
+public record TaskChanges(long version, OffsetDateTime changedAt) {
+}
@@ -0,0 +1,7 @@
+package com.slmakomazi.tasklist.repository;
+
+import java.time.OffsetDateTime;
+
+/** An open task whose deadline still has an event to fire; {@code reminded} once DUE_SOON has. */
+public record TaskDeadline(long taskId, OffsetDateTime dueDate, boolean reminded) {
+}
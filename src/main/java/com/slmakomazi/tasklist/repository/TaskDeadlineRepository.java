@@ -0,0 +1,91 @@
+package com.slmakomazi.tasklist.repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Claims and fires task deadlines for the reminder scheduler. Claims lock their rows with
+ * {@code SKIP LOCKED}, so nodes claiming at the same time split a batch instead of queueing
+ * on each other, and a claimed task stays with its node until the claim runs out.
+ */
+@Repository
+@Profile("!reactive")
+public class TaskDeadlineRepository {
+    static final int REMINDED = 1;
+    static final int OVERDUE = 2;
+
+    // A DUE_SOON is claimed by its reminder time, an OVERDUE by the due date itself
+    static final String CLAIMABLE_SQL =
+            "SELECT id, due_date, deadline_state FROM tasks " +
+            "WHERE completed = false AND deadline_state < 2 " +
+            "AND due_date <= CASE WHEN deadline_state = 0 THEN :remindUntil ELSE :until END " +
+            "AND (deadline_claimed_until IS NULL OR deadline_claimed_until < :now) " +
+            "ORDER BY due_date LIMIT :limit FOR UPDATE SKIP LOCKED";
+    static final String CLAIM_SQL = "UPDATE tasks SET deadline_claimed_until = :claimedUntil WHERE id = :id";
+    static final String FIRE_SQL =
+            "UPDATE tasks SET deadline_state = :state, deadline_claimed_until = NULL " +
+            "WHERE id = :id AND completed = false AND deadline_state < :state";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TaskDeadlineRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks up to {@code limit} unclaimed deadlines that fire by {@code until}, reminders
+     * {@code lead} ahead of the due date. Must run in a transaction, followed by
+     * {@link #claim} for the rows returned.
+     */
+    public List<TaskDeadline> findClaimable(OffsetDateTime now, OffsetDateTime until, Duration lead, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("now", now)
+                .addValue("until", until)
+                .addValue("remindUntil", until.plus(lead))
+                .addValue("limit", limit);
+        return jdbcTemplate.query(CLAIMABLE_SQL, params, (rs, rowNum) -> new TaskDeadline(rs.getLong("id"),
+                rs.getObject("due_date", OffsetDateTime.class), rs.getInt("deadline_state") == REMINDED));
+    }
+
+    /** Holds each task until its own time, as a single JDBC batch. */
+    public void claim(Map<Long, OffsetDateTime> claimedUntil) {
+        SqlParameterSource[] batch = claimedUntil.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("id", entry.getKey())
+                        .addValue("claimedUntil", entry.getValue()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(CLAIM_SQL, batch);
+    }
+
+    /**
+     * Moves the tasks' deadlines on to DUE_SOON ({@code overdue} false) or OVERDUE and
+     * releases their claims. Returns the ids that actually moved: not those completed, or
+     * already announced by another node, in the meantime.
+     */
+    public List<Long> fire(Collection<Long> taskIds, boolean overdue) {
+        List<Long> ids = List.copyOf(taskIds);
+        SqlParameterSource[] batch = ids.stream()
+                .map(id -> new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("state", overdue ? OVERDUE : REMINDED))
+                .toArray(SqlParameterSource[]::new);
+        int[] updated = jdbcTemplate.batchUpdate(FIRE_SQL, batch);
+        List<Long> fired = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (updated[i] > 0) {
+                fired.add(ids.get(i));
+            }
+        }
+        return fired;
+    }
+}
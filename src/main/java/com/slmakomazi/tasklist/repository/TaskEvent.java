@@ -0,0 +1,16 @@
+package com.slmakomazi.tasklist.repository;
+
+import com.slmakomazi.tasklist.model.Task;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One published change to a task, in {@code position} order. {@code task} is the task as
+ * it is now rather than as it was at the event, so a consumer needs no follow-up read.
+ */
+public record TaskEvent(long position, Long taskId, Type type, OffsetDateTime occurredAt, Task task) {
+
+    public enum Type {
+        CREATED, COMPLETED, DUE_SOON, OVERDUE, ARCHIVED
+    }
+}
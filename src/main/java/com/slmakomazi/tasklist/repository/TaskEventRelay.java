@@ -0,0 +1,8 @@
+package com.slmakomazi.tasklist.repository;
+
+/**
+ * Relay state: the last position handed out, and the last one purged. Positions up to
+ * {@code purgedThrough} can no longer be read.
+ */
+public record TaskEventRelay(long lastPosition, long purgedThrough) {
+}
@@ -0,0 +1,119 @@
+package com.slmakomazi.tasklist.repository;
+
+import com.slmakomazi.tasklist.model.Task;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code task_events} outbox and its relay state. Events are appended inside the
+ * caller's transaction, numbered later by the relay and read back by position.
+ * Statements are shared with the R2DBC repository.
+ */
+@Repository
+@Profile("!reactive")
+public class TaskEventRepository {
+    static final String APPEND_SQL =
+            "INSERT INTO task_events (task_id, type, occurred_at) VALUES (:taskId, :type, :occurredAt)";
+    static final String UNPUBLISHED_SQL =
+            "SELECT id FROM task_events WHERE position IS NULL ORDER BY id LIMIT :limit";
+    static final String LOCK_RELAY_SQL = "SELECT last_position FROM task_event_relay WHERE id = 1 FOR UPDATE";
+    static final String NUMBER_SQL = "UPDATE task_events SET position = :position WHERE id = :id";
+    static final String ADVANCE_SQL = "UPDATE task_event_relay SET last_position = :position WHERE id = 1";
+    static final String RELAY_SQL = "SELECT last_position, purged_through FROM task_event_relay WHERE id = 1";
+    static final String AFTER_SQL =
+            "SELECT e.position, e.task_id, e.type, e.occurred_at, " +
+            "t.id, t.description, t.due_date, t.completed, t.version, t.updated_at " +
+            "FROM task_events e LEFT JOIN tasks t ON t.id = e.task_id " +
+            "WHERE e.position > :since ORDER BY e.position LIMIT :limit";
+    static final String PURGE_THROUGH_SQL =
+            "SELECT MAX(position) FROM task_events WHERE position IS NOT NULL AND occurred_at < :before";
+    static final String PURGE_SQL = "DELETE FROM task_events WHERE position <= :through";
+    static final String PURGED_SQL = "UPDATE task_event_relay SET purged_through = :through WHERE id = 1";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TaskEventRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Adds one unpublished event per id as a single JDBC batch. */
+    public void append(TaskEvent.Type type, Collection<Long> taskIds, OffsetDateTime occurredAt) {
+        SqlParameterSource[] batch = taskIds.stream()
+                .map(id -> new MapSqlParameterSource()
+                        .addValue("taskId", id)
+                        .addValue("type", type.name())
+                        .addValue("occurredAt", occurredAt))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(APPEND_SQL, batch);
+    }
+
+    /** Ids of the oldest unpublished events, in insertion order. */
+    public List<Long> findUnpublished(int limit) {
+        return jdbcTemplate.queryForList(UNPUBLISHED_SQL, Map.of("limit", limit), Long.class);
+    }
+
+    /** Last assigned position, with the relay row locked until the transaction ends. */
+    public long lockRelay() {
+        return jdbcTemplate.queryForObject(LOCK_RELAY_SQL, Map.of(), Long.class);
+    }
+
+    /** Numbers {@code ids} from {@code after + 1} on and moves the relay past them. */
+    public long publish(List<Long> ids, long after) {
+        SqlParameterSource[] batch = IntStream.range(0, ids.size())
+                .mapToObj(i -> new MapSqlParameterSource()
+                        .addValue("position", after + 1 + i)
+                        .addValue("id", ids.get(i)))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(NUMBER_SQL, batch);
+        long last = after + ids.size();
+        jdbcTemplate.update(ADVANCE_SQL, Map.of("position", last));
+        return last;
+    }
+
+    public TaskEventRelay relay() {
+        return jdbcTemplate.queryForObject(RELAY_SQL, Map.of(), (rs, rowNum) ->
+                new TaskEventRelay(rs.getLong("last_position"), rs.getLong("purged_through")));
+    }
+
+    public List<TaskEvent> findAfter(long since, int limit) {
+        return jdbcTemplate.query(AFTER_SQL, Map.of("since", since, "limit", limit), (rs, rowNum) -> toEvent(rs));
+    }
+
+    /**
+     * Deletes published events that occurred before {@code before} and records the last
+     * deleted position. Returns the number of events deleted.
+     */
+    public int purge(OffsetDateTime before) {
+        Long through = jdbcTemplate.queryForObject(PURGE_THROUGH_SQL, Map.of("before", before), Long.class);
+        if (through == null) {
+            return 0;
+        }
+        int deleted = jdbcTemplate.update(PURGE_SQL, Map.of("through", through));
+        jdbcTemplate.update(PURGED_SQL, Map.of("through", through));
+        return deleted;
+    }
+
+    private static TaskEvent toEvent(ResultSet rs) throws SQLException {
+        Task task = null;
+        if (rs.getObject("id") != null) {
+            task = new Task(rs.getString("description"), rs.getObject("due_date", OffsetDateTime.class));
+            task.setId(rs.getLong("id"));
+            task.setCompleted(rs.getBoolean("completed"));
+            task.setVersion(rs.getLong("version"));
+            task.setUpdatedAt(rs.getObject("updated_at", OffsetDateTime.class));
+        }
+        return new TaskEvent(rs.getLong("position"), rs.getLong("task_id"),
+                TaskEvent.Type.valueOf(rs.getString("type")), rs.getObject("occurred_at", OffsetDateTime.class), task);
+    }
+}
@@ -0,0 +1,56 @@
+package com.slmakomazi.tasklist.repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Server-side filters and sort direction for the task list. Every field is optional; set
+ * fields are combined with AND. {@code dueAfter} and {@code dueBefore} are exclusive, and
+ * {@code overdue} selects open tasks due before the time of the query.
+ */
+public record TaskFilter(Boolean completed,
+                         OffsetDateTime dueAfter,
+                         OffsetDateTime dueBefore,
+                         boolean overdue,
+                         String descriptionPrefix,
+                         boolean descending) {
+
+    public static final String SORT_DUE_DATE = "dueDate";
+    public static final String SORT_DUE_DATE_DESC = "-dueDate";
+
+    public static final TaskFilter ALL = new TaskFilter(null, null, null, false, null, false);
+
+    public TaskFilter {
+        if (descriptionPrefix != null && descriptionPrefix.isEmpty()) {
+            descriptionPrefix = null;
+        }
+    }
+
+    public static TaskFilter completed(Boolean completed) {
+        return new TaskFilter(completed, null, null, false, null, false);
+    }
+
+    /** Maps the {@code sort} request parameter to {@link #descending}; {@code null} means ascending. */
+    public static boolean isDescending(String sort) {
+        if (sort == null || SORT_DUE_DATE.equals(sort)) {
+            return false;
+        }
+        if (SORT_DUE_DATE_DESC.equals(sort)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + sort);
+    }
+
+    /** True when at most {@code completed} is set, which the fixed keyset queries already serve. */
+    public boolean isPlain() {
+        return dueAfter == null && dueBefore == null && !overdue && descriptionPrefix == null && !descending;
+    }
+
+    /** True when the archive can serve the filter: its tasks are all completed and only paged by due date. */
+    public boolean isArchivable() {
+        return isPlain() && !Boolean.FALSE.equals(completed);
+    }
+
+    static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
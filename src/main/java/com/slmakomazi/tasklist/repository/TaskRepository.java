@@ -1,10 +1,87 @@
 package com.slmakomazi.tasklist.repository;
 
 import com.slmakomazi.tasklist.model.Task;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+    /** Rows fetched per JDBC round trip when streaming; PostgreSQL only honours it inside a transaction. */
+    String STREAM_FETCH_SIZE = "500";
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByCompleted(boolean completed);
+
+    // Keyset pages ordered by (dueDate, id); the id tie-breaker keeps the order total.
+    // Other filters and the descending order go through TaskSpecifications.
+
+    List<Task> findByOrderByDueDateAscIdAsc(Limit limit);
+
+    List<Task> findByCompletedOrderByDueDateAscIdAsc(boolean completed, Limit limit);
+
+    @Query("select t from Task t where t.dueDate > :dueDate or (t.dueDate = :dueDate and t.id > :id) " +
+            "order by t.dueDate, t.id")
+    List<Task> findPageAfter(OffsetDateTime dueDate, Long id, Limit limit);
+
+    @Query("select t from Task t where t.completed = :completed " +
+            "and (t.dueDate > :dueDate or (t.dueDate = :dueDate and t.id > :id)) " +
+            "order by t.dueDate, t.id")
+    List<Task> findPageAfter(boolean completed, OffsetDateTime dueDate, Long id, Limit limit);
+
+    // Cursor-backed streams; callers must consume them inside a transaction and close them.
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select t from Task t order by t.dueDate, t.id")
+    Stream<Task> streamAll();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select t from Task t where t.completed = :completed order by t.dueDate, t.id")
+    Stream<Task> streamByCompleted(boolean completed);
+
+    // Set-based completion: one UPDATE per call instead of load, flip and save. Bulk
+    // updates skip entity callbacks, so version and updatedAt are maintained here.
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.completed = true, t.version = t.version + 1, t.updatedAt = offset datetime " +
+            "where t.id = :id and t.completed = false")
+    int markCompleted(Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.completed = true, t.version = t.version + 1, t.updatedAt = offset datetime " +
+            "where t.id in :ids and t.completed = false")
+    int markAllCompleted(Collection<Long> ids);
+
+    /**
+     * Locks the existing rows among {@code ids} until the transaction ends and reads their
+     * completed flags, so no other completion can commit between this and the UPDATE.
+     * Rows are locked in id order, so two callers with overlapping ids cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id as id, t.completed as completed from Task t where t.id in :ids order by t.id")
+    List<CompletionState> lockCompletionStates(Collection<Long> ids);
+
+    /** Keyset page of open task ids due before {@code dueBefore}, after {@code afterId}. */
+    @Query("select t.id from Task t where t.completed = false and t.dueDate < :dueBefore and t.id > :afterId " +
+            "order by t.id")
+    List<Long> findOpenIdsDueBefore(OffsetDateTime dueBefore, Long afterId, Limit limit);
+
+    interface CompletionState {
+        Long getId();
+        boolean isCompleted();
+    }
 }
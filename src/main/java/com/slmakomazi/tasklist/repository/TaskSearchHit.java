@@ -0,0 +1,7 @@
+package com.slmakomazi.tasklist.repository;
+
+import com.slmakomazi.tasklist.model.Task;
+
+/** A search match and its relevance; higher scores rank first. */
+public record TaskSearchHit(Task task, float score) {
+}
@@ -0,0 +1,84 @@
+package com.slmakomazi.tasklist.repository;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * SQL for ranked, keyset-paged description search, shared by the JDBC and R2DBC
+ * repositories. Pages are ordered by (score desc, id); {@code afterScore}/{@code afterId}
+ * are the last hit of the previous page.
+ * <p>
+ * PostgreSQL matches {@code websearch_to_tsquery} against the GIN-indexed
+ * {@code description_tsv} column and scores with {@code ts_rank}. Other databases (H2 in
+ * tests) fall back to a case-insensitive LIKE per search term with a constant score,
+ * which keeps the API and paging behaviour but not stemming or ranking.
+ */
+final class TaskSearchQueries {
+    /** Terms beyond this are ignored by the fallback, which scans rather than indexes. */
+    static final int MAX_FALLBACK_TERMS = 8;
+
+    private static final String COLUMNS = "id, description, due_date, completed, version, updated_at";
+
+    private static final String POSTGRESQL_HITS =
+            "SELECT t." + COLUMNS.replace(", ", ", t.") + ", ts_rank(t.description_tsv, q.query) AS score " +
+            "FROM tasks t, websearch_to_tsquery('english', :q) AS q(query) " +
+            "WHERE t.description_tsv @@ q.query";
+
+    private final boolean postgresql;
+
+    private TaskSearchQueries(boolean postgresql) {
+        this.postgresql = postgresql;
+    }
+
+    static TaskSearchQueries forDatabase(String productName) {
+        return new TaskSearchQueries(productName != null && productName.toLowerCase(Locale.ROOT).contains("postgres"));
+    }
+
+    String sql(String query, boolean afterCursor) {
+        String hits = postgresql ? POSTGRESQL_HITS : fallbackHits(terms(query).size());
+        return "SELECT " + COLUMNS + ", score FROM (" + hits + ") hits " +
+                (afterCursor ? "WHERE score < :afterScore OR (score = :afterScore AND id > :afterId) " : "") +
+                "ORDER BY score DESC, id LIMIT :limit";
+    }
+
+    Map<String, Object> parameters(String query, Float afterScore, Long afterId, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        if (postgresql) {
+            parameters.put("q", query);
+        } else {
+            List<String> terms = terms(query);
+            for (int i = 0; i < terms.size(); i++) {
+                parameters.put("term" + i, "%" + escapeLike(terms.get(i)) + "%");
+            }
+        }
+        if (afterScore != null) {
+            parameters.put("afterScore", afterScore);
+            parameters.put("afterId", afterId);
+        }
+        parameters.put("limit", limit);
+        return parameters;
+    }
+
+    private static String fallbackHits(int terms) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + ", CAST(1 AS REAL) AS score FROM tasks WHERE 1 = 1");
+        for (int i = 0; i < terms; i++) {
+            sql.append(" AND LOWER(description) LIKE :term").append(i);
+        }
+        return sql.toString();
+    }
+
+    private static List<String> terms(String query) {
+        return Arrays.stream(query.trim().toLowerCase(Locale.ROOT).split("\\s+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(MAX_FALLBACK_TERMS)
+                .toList();
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,63 @@
+package com.slmakomazi.tasklist.repository;
+
+import com.slmakomazi.tasklist.model.Task;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Ranked description search, see {@link TaskSearchQueries}. The database is detected on
+ * the first search rather than at startup, which then needs no connection.
+ */
+@Repository
+@Profile("!reactive")
+public class TaskSearchRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private volatile TaskSearchQueries queries;
+
+    public TaskSearchRepository(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+    }
+
+    /** Up to {@code limit} hits ranked after ({@code afterScore}, {@code afterId}), or from the top if null. */
+    public List<TaskSearchHit> search(String query, Float afterScore, Long afterId, int limit) {
+        TaskSearchQueries queries = queries();
+        return jdbcTemplate.query(queries.sql(query, afterScore != null),
+                queries.parameters(query, afterScore, afterId, limit),
+                (rs, rowNum) -> new TaskSearchHit(toTask(rs), rs.getFloat("score")));
+    }
+
+    private TaskSearchQueries queries() {
+        TaskSearchQueries resolved = queries;
+        if (resolved == null) {
+            try {
+                resolved = TaskSearchQueries.forDatabase(
+                        JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+            } catch (MetaDataAccessException ex) {
+                throw new IllegalStateException("Could not detect the database to search", ex);
+            }
+            queries = resolved;
+        }
+        return resolved;
+    }
+
+    private static Task toTask(ResultSet rs) throws SQLException {
+        Task task = new Task(rs.getString("description"), rs.getObject("due_date", OffsetDateTime.class));
+        task.setId(rs.getLong("id"));
+        task.setCompleted(rs.getBoolean("completed"));
+        task.setVersion(rs.getLong("version"));
+        task.setUpdatedAt(rs.getObject("updated_at", OffsetDateTime.class));
+        return task;
+    }
+}
@@ -0,0 +1,59 @@
+package com.slmakomazi.tasklist.repository;
+
+import com.slmakomazi.tasklist.model.Task;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria for filtered keyset pages. Predicates are plain comparisons on indexed
+ * columns, so the whole filter, order and limit run as one statement.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /** Tasks matching {@code filter}; {@code now} is the cut-off for {@code overdue}. */
+    public static Specification<Task> matching(TaskFilter filter, OffsetDateTime now) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.completed() != null) {
+                predicates.add(cb.equal(root.get("completed"), filter.completed()));
+            }
+            if (filter.overdue()) {
+                predicates.add(cb.isFalse(root.get("completed")));
+                predicates.add(cb.lessThan(root.get("dueDate"), now));
+            }
+            if (filter.dueAfter() != null) {
+                predicates.add(cb.greaterThan(root.get("dueDate"), filter.dueAfter()));
+            }
+            if (filter.dueBefore() != null) {
+                predicates.add(cb.lessThan(root.get("dueDate"), filter.dueBefore()));
+            }
+            if (filter.descriptionPrefix() != null) {
+                predicates.add(cb.like(root.get("description"), TaskFilter.likePrefix(filter.descriptionPrefix()), '\\'));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /** Rows strictly past ({@code dueDate}, {@code id}) in the given direction. */
+    public static Specification<Task> after(OffsetDateTime dueDate, Long id, boolean descending) {
+        return (root, query, cb) -> descending
+                ? cb.or(cb.lessThan(root.get("dueDate"), dueDate),
+                        cb.and(cb.equal(root.get("dueDate"), dueDate), cb.lessThan(root.get("id"), id)))
+                : cb.or(cb.greaterThan(root.get("dueDate"), dueDate),
+                        cb.and(cb.equal(root.get("dueDate"), dueDate), cb.greaterThan(root.get("id"), id)));
+    }
+
+    /** Keyset order; the id tie-breaker keeps it total. */
+    public static Sort order(boolean descending) {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, "dueDate", "id");
+    }
+}
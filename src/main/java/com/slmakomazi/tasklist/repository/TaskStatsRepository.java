@@ -0,0 +1,42 @@
+package com.slmakomazi.tasklist.repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+/** Aggregates behind {@code GET /api/tasks/stats}. */
+@Repository
+@Profile("!reactive")
+public class TaskStatsRepository {
+    /**
+     * One pass over tasks, grouped by UTC due date inside [:from, :to) and into a single
+     * null group outside it. Shared with the R2DBC repository.
+     */
+    static final String COUNT_BY_DUE_DAY_SQL =
+            "SELECT due_day, COUNT(*) AS total, " +
+            "SUM(CASE WHEN completed THEN 1 ELSE 0 END) AS completed, " +
+            "SUM(CASE WHEN NOT completed AND due_date < :now THEN 1 ELSE 0 END) AS overdue " +
+            "FROM (SELECT completed, due_date, " +
+            "CASE WHEN due_date >= :from AND due_date < :to THEN CAST(due_date AT TIME ZONE 'UTC' AS DATE) END AS due_day " +
+            "FROM tasks) t GROUP BY due_day";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TaskStatsRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Read-only so that, with replicas configured, the full scan runs on a replica. */
+    @Transactional(readOnly = true)
+    public List<DueDateCount> countByDueDay(OffsetDateTime from, OffsetDateTime to, OffsetDateTime now) {
+        return jdbcTemplate.query(COUNT_BY_DUE_DAY_SQL, Map.of("from", from, "to", to, "now", now),
+                (rs, rowNum) -> new DueDateCount(rs.getObject("due_day", LocalDate.class),
+                        rs.getLong("total"), rs.getLong("completed"), rs.getLong("overdue")));
+    }
+}
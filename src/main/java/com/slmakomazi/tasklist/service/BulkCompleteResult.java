@@ -0,0 +1,10 @@
+package com.slmakomazi.tasklist.service;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk completion: ids flipped by this call, ids that were already
+ * completed beforehand, and requested ids that do not exist.
+ */
+public record BulkCompleteResult(List<Long> completed, List<Long> alreadyCompleted, List<Long> missing) {
+}
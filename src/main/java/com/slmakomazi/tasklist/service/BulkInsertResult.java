@@ -0,0 +1,13 @@
+package com.slmakomazi.tasklist.service;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk ingestion. {@code ids} holds the generated ids of accepted items in
+ * input order; every rejected item is reported in {@code errors} by its zero-based index.
+ */
+public record BulkInsertResult(int accepted, int rejected, List<Long> ids, List<ItemError> errors) {
+
+    public record ItemError(int index, String message) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.slmakomazi.tasklist.service;
+
+/**
+ * Thrown when an Idempotency-Key cannot be honoured: either the request that claimed it
+ * is still running on another node, or the key was first used with a different request.
+ */
+public class IdempotencyConflictException extends RuntimeException {
+    private final boolean inProgress;
+
+    public IdempotencyConflictException(String key, boolean inProgress) {
+        super(inProgress
+                ? "Idempotency-Key " + key + " is in use by a request still running"
+                : "Idempotency-Key " + key + " was used with a different request");
+        this.inProgress = inProgress;
+    }
+
+    public boolean isInProgress() {
+        return inProgress;
+    }
+}
@@ -0,0 +1,276 @@
+package com.slmakomazi.tasklist.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.slmakomazi.tasklist.repository.IdempotencyRecord;
+import com.slmakomazi.tasklist.repository.IdempotencyRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write at most once per Idempotency-Key and replays its response to retries.
+ * <p>
+ * Finished responses stay in a bounded in-memory cache for {@code tasklist.idempotency.ttl}.
+ * Requests with a key that is still running wait for the first one instead of racing it,
+ * and try again themselves if it fails. With {@code tasklist.idempotency.store=jdbc}
+ * (servlet stack only) keys are also claimed in the database, so a retry landing on
+ * another node or after a restart is replayed too. Only successful responses are kept.
+ * <p>
+ * A claim is not part of the transaction its request writes in. If a node dies after that
+ * transaction commits but before the response is stored, the claim is taken over once it
+ * is older than {@code claim-timeout} and the retry runs the request again: a create can
+ * then happen twice. The same goes for a request that takes longer than the timeout.
+ */
+@Service
+public class IdempotencyService implements MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper storeMapper;
+    private final IdempotencyRepository store;
+    private final Duration ttl;
+    private final Duration claimTimeout;
+    private final Cache<String, Stored> completed;
+    private final ConcurrentMap<String, CompletableFuture<Stored>> running = new ConcurrentHashMap<>();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public IdempotencyService(ObjectMapper objectMapper,
+                              ObjectProvider<IdempotencyRepository> repository,
+                              @Value("${tasklist.idempotency.store:memory}") String store,
+                              @Value("${tasklist.idempotency.max-size:10000}") long maxSize,
+                              @Value("${tasklist.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${tasklist.idempotency.claim-timeout:PT1M}") Duration claimTimeout) {
+        this.objectMapper = objectMapper;
+        // A replay must carry every property of the response, READ_ONLY ones like
+        // Task.version included, which the request mapper would drop when reading
+        this.storeMapper = objectMapper.copy().setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+            @Override
+            public JsonProperty.Access findPropertyAccess(Annotated annotated) {
+                return null;
+            }
+        });
+        this.store = switch (store) {
+            case "memory" -> null;
+            case "jdbc" -> repository.getIfAvailable(() -> {
+                throw new IllegalStateException("tasklist.idempotency.store=jdbc is not available with the reactive profile");
+            });
+            default -> throw new IllegalArgumentException("Unknown tasklist.idempotency.store: " + store);
+        };
+        this.ttl = ttl;
+        this.claimTimeout = claimTimeout;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Blocking form of {@link #executeAsync}; rethrows what {@code action} threw.
+     *
+     * @throws IllegalArgumentException     if {@code key} is blank or too long
+     * @throws IdempotencyConflictException if the key cannot be replayed or run
+     */
+    public <T> IdempotentResult<T> execute(String scope, String key, String fingerprint,
+                                           Class<T> type, Supplier<T> action) {
+        try {
+            return executeAsync(scope, key, fingerprint, type,
+                    () -> CompletableFuture.completedFuture(action.get())).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Runs {@code action} unless a request with the same {@code scope} and {@code key} has
+     * already succeeded, in which case its response is returned as replayed. A non-null
+     * {@code fingerprint} identifies the request; replaying a key for a different one
+     * fails with {@link IdempotencyConflictException}.
+     */
+    public <T> CompletableFuture<IdempotentResult<T>> executeAsync(String scope, String key, String fingerprint,
+                                                                   Class<T> type, Supplier<? extends CompletionStage<T>> action) {
+        checkKey(key);
+        String id = scope + ':' + key;
+        Stored done = completed.getIfPresent(id);
+        if (done != null) {
+            return CompletableFuture.completedFuture(replay(key, done, fingerprint, type));
+        }
+        CompletableFuture<Stored> mine = new CompletableFuture<>();
+        CompletableFuture<Stored> first = running.putIfAbsent(id, mine);
+        if (first != null) {
+            coalesced.incrementAndGet();
+            return first.handle((stored, ex) -> ex == null
+                            ? CompletableFuture.completedFuture(replay(key, stored, fingerprint, type))
+                            : executeAsync(scope, key, fingerprint, type, action))
+                    .thenCompose(Function.identity());
+        }
+        try {
+            // The first request may have finished between the lookup and putIfAbsent above
+            done = completed.getIfPresent(id);
+            if (done == null && store != null) {
+                done = claim(id, key, fingerprint, type);
+            }
+        } catch (RuntimeException ex) {
+            running.remove(id, mine);
+            mine.completeExceptionally(ex);
+            return CompletableFuture.failedFuture(ex);
+        }
+        if (done != null) {
+            finish(id, mine, done);
+            return CompletableFuture.completedFuture(replay(key, done, fingerprint, type));
+        }
+        CompletionStage<T> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException ex) {
+            result = CompletableFuture.failedFuture(ex);
+        }
+        return result.toCompletableFuture()
+                .thenApply(response -> {
+                    if (store != null) {
+                        store.complete(id, toJson(response));
+                    }
+                    finish(id, mine, new Stored(fingerprint, response));
+                    return new IdempotentResult<>(response, false);
+                })
+                .whenComplete((response, ex) -> {
+                    if (ex != null) {
+                        abandon(id, mine, ex);
+                    }
+                });
+    }
+
+    /** SHA-256 of the request as JSON, for {@link #executeAsync}. */
+    public String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not fingerprint " + request.getClass().getSimpleName(), ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tasklist.idempotency.purge-interval:PT1H}")
+    public void purge() {
+        if (store == null) {
+            return;
+        }
+        int deleted = store.purge(OffsetDateTime.now().minus(ttl));
+        if (deleted > 0) {
+            log.info("Purged {} idempotency keys older than {}", deleted, ttl);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasklist.idempotency.keys", completed, Cache::estimatedSize)
+                .description("Idempotency-Key responses held in memory")
+                .register(registry);
+        FunctionCounter.builder("tasklist.idempotency.replayed", replayed, AtomicLong::get)
+                .description("Requests answered with the stored response of an earlier one")
+                .register(registry);
+        FunctionCounter.builder("tasklist.idempotency.coalesced", coalesced, AtomicLong::get)
+                .description("Requests that waited for a running request with the same key")
+                .register(registry);
+    }
+
+    static void checkKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    /** Claims the key in the database, or returns the response another node stored for it. */
+    private Stored claim(String id, String key, String fingerprint, Class<?> type) {
+        OffsetDateTime now = OffsetDateTime.now();
+        while (!store.claim(id, fingerprint, now, now.minus(claimTimeout))) {
+            // Null when the holder released or purged it in the meantime: claim again
+            IdempotencyRecord record = store.find(id).orElse(null);
+            if (record != null) {
+                if (record.response() == null) {
+                    throw new IdempotencyConflictException(key, true);
+                }
+                return new Stored(record.fingerprint(), fromJson(record.response(), type));
+            }
+        }
+        return null;
+    }
+
+    private void finish(String id, CompletableFuture<Stored> mine, Stored stored) {
+        completed.put(id, stored);
+        running.remove(id, mine);
+        mine.complete(stored);
+    }
+
+    private void abandon(String id, CompletableFuture<Stored> mine, Throwable ex) {
+        if (store != null) {
+            try {
+                store.release(id);
+            } catch (RuntimeException releaseEx) {
+                log.warn("Could not release idempotency key {}: {}", id, releaseEx.getMessage());
+            }
+        }
+        running.remove(id, mine);
+        mine.completeExceptionally(ex);
+    }
+
+    private <T> IdempotentResult<T> replay(String key, Stored stored, String fingerprint, Class<T> type) {
+        if (!Objects.equals(stored.fingerprint(), fingerprint)) {
+            throw new IdempotencyConflictException(key, false);
+        }
+        replayed.incrementAndGet();
+        return new IdempotentResult<>(type.cast(stored.response()), true);
+    }
+
+    private String toJson(Object response) {
+        try {
+            return storeMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not store response " + response.getClass().getSimpleName(), ex);
+        }
+    }
+
+    private Object fromJson(String response, Class<?> type) {
+        try {
+            return storeMapper.readValue(response, type);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not read stored " + type.getSimpleName(), ex);
+        }
+    }
+
+    private record Stored(String fingerprint, Object response) {
+    }
+}
@@ -0,0 +1,5 @@
+package com.slmakomazi.tasklist.service;
+
+/** A response, and whether it was replayed from an earlier request with the same key. */
+public record IdempotentResult<T>(T response, boolean replayed) {
+}
@@ -0,0 +1,436 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.ReactiveTaskRepository;
+import com.slmakomazi.tasklist.repository.TaskChanges;
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import com.slmakomazi.tasklist.repository.TaskFilter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking counterpart of {@link TaskService} and {@link TaskBulkService} for the
+ * reactive profile, with the same paging, completion and bulk semantics.
+ * Nothing is cached here; the Caffeine caches belong to the servlet stack.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTaskService {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTaskService.class);
+
+    private final ReactiveTaskRepository repository;
+    private final TransactionalOperator transactionalOperator;
+    private final Validator validator;
+    private final int batchSize;
+    private final TaskStatsSnapshots statsSnapshots;
+    private final int statsBuckets;
+    private final TaskEventNotifier eventNotifier = new TaskEventNotifier();
+    private final Sinks.Many<TaskEvent> eventSink = Sinks.many().multicast().directBestEffort();
+    // Last position fanned out to streams; -1 until the first relay run
+    private final AtomicLong streamHead = new AtomicLong(-1);
+    private final int streamBufferSize;
+    private final int eventBatchSize;
+    private final Duration eventRetention;
+
+    public ReactiveTaskService(ReactiveTaskRepository repository,
+                               TransactionalOperator transactionalOperator,
+                               Validator validator,
+                               @Value("${tasklist.bulk.batch-size:500}") int batchSize,
+                               @Value("${tasklist.stats.max-staleness:0s}") Duration statsMaxStaleness,
+                               @Value("${tasklist.stats.buckets:14}") int statsBuckets,
+                               @Value("${tasklist.events.relay-batch-size:500}") int eventBatchSize,
+                               @Value("${tasklist.events.retention:P7D}") Duration eventRetention,
+                               @Value("${tasklist.stream.buffer-size:256}") int streamBufferSize) {
+        this.repository = repository;
+        this.transactionalOperator = transactionalOperator;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.statsSnapshots = new TaskStatsSnapshots(statsMaxStaleness);
+        this.statsBuckets = statsBuckets;
+        this.eventBatchSize = eventBatchSize;
+        this.eventRetention = eventRetention;
+        this.streamBufferSize = streamBufferSize;
+    }
+
+    public Mono<Task> create(Task task) {
+        return repository.save(task)
+                .flatMap(saved -> repository.appendEvents(TaskEvent.Type.CREATED, List.of(saved.getId()), OffsetDateTime.now())
+                        .then(repository.recordChange())
+                        .thenReturn(saved))
+                .as(transactionalOperator::transactional)
+                .doOnNext(saved -> log.debug("Created task id={} dueDate={}", saved.getId(), saved.getDueDate()));
+    }
+
+    /** Current table-level change counter, see {@link TaskService#changes()}. */
+    public Mono<TaskChanges> changes() {
+        return repository.currentChanges();
+    }
+
+    /** Same contract as {@link TaskService#list}; an invalid cursor is signalled as an error. */
+    public Mono<TaskPage> list(TaskFilter filter, String cursor, int limit) {
+        return Mono.defer(() -> {
+            int size = Math.min(Math.max(limit, 1), TaskService.MAX_PAGE_SIZE);
+            int fetch = size + 1;
+            TaskCursor after = cursor == null ? null : TaskCursor.decode(cursor);
+            Flux<Task> rows;
+            if (!filter.isPlain()) {
+                rows = repository.findPage(filter, OffsetDateTime.now(),
+                        after == null ? null : after.dueDate(), after == null ? null : after.id(), fetch);
+            } else if (after == null) {
+                rows = filter.completed() == null
+                        ? repository.findFirstPage(fetch)
+                        : repository.findFirstPage(filter.completed(), fetch);
+            } else {
+                rows = filter.completed() == null
+                        ? repository.findPageAfter(after.dueDate(), after.id(), fetch)
+                        : repository.findPageAfter(filter.completed(), after.dueDate(), after.id(), fetch);
+            }
+            return rows.collectList().map(list -> {
+                if (list.size() <= size) {
+                    return new TaskPage(List.copyOf(list), null);
+                }
+                List<Task> items = List.copyOf(list.subList(0, size));
+                return new TaskPage(items, TaskCursor.after(items.get(size - 1)).encode());
+            });
+        });
+    }
+
+    /** Same contract as {@link TaskArchiveService#list}. */
+    public Mono<TaskPage> listArchived(String cursor, int limit) {
+        return Mono.defer(() -> {
+            int size = Math.min(Math.max(limit, 1), TaskService.MAX_PAGE_SIZE);
+            TaskCursor after = cursor == null ? null : TaskCursor.decode(cursor);
+            return repository.findArchivedPage(after == null ? null : after.dueDate(), after == null ? null : after.id(), size + 1)
+                    .collectList()
+                    .map(list -> {
+                        if (list.size() <= size) {
+                            return new TaskPage(List.copyOf(list), null);
+                        }
+                        List<Task> items = List.copyOf(list.subList(0, size));
+                        return new TaskPage(items, TaskCursor.after(items.get(size - 1)).encode());
+                    });
+        });
+    }
+
+    /** Same contract as {@link TaskService#search}. */
+    public Mono<TaskPage> search(String query, String cursor, int limit) {
+        return Mono.defer(() -> {
+            String q = TaskService.checkQuery(query);
+            int size = Math.min(Math.max(limit, 1), TaskService.MAX_PAGE_SIZE);
+            SearchCursor after = cursor == null ? null : SearchCursor.decode(cursor);
+            return repository.search(q, after == null ? null : after.score(), after == null ? null : after.id(), size + 1)
+                    .collectList()
+                    .map(hits -> TaskService.searchPage(hits, size));
+        });
+    }
+
+    /** Same contract as {@link TaskStatsService#stats}. */
+    public Mono<TaskStats> stats(StatsBucket bucket) {
+        return Mono.defer(() -> {
+            OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+            TaskStats snapshot = statsSnapshots.get(bucket, now);
+            return snapshot != null ? Mono.just(snapshot) : computeStats(bucket, now);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${tasklist.stats.refresh-interval:PT15S}")
+    public Mono<Void> refreshStats() {
+        if (!statsSnapshots.isEnabled()) {
+            return Mono.empty();
+        }
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        return Flux.fromArray(StatsBucket.values())
+                .concatMap(bucket -> computeStats(bucket, now))
+                .collectMap(TaskStats::bucket)
+                .doOnNext(statsSnapshots::put)
+                .then();
+    }
+
+    private Mono<TaskStats> computeStats(StatsBucket bucket, OffsetDateTime now) {
+        LocalDate from = bucket.start(now.toLocalDate());
+        LocalDate to = bucket.plus(from, statsBuckets);
+        return repository.countByDueDay(from.atStartOfDay().atOffset(ZoneOffset.UTC),
+                        to.atStartOfDay().atOffset(ZoneOffset.UTC), now)
+                .collectList()
+                .map(rows -> TaskStats.of(rows, bucket, from, statsBuckets, now));
+    }
+
+    /** Same contract as {@link TaskEventService#changes(Long, int, Duration)}, waiting without a thread. */
+    public Mono<TaskEventPage> changes(Long since, int limit, Duration wait) {
+        return repository.eventRelay().flatMap(relay -> {
+            if (since == null) {
+                return Mono.just(new TaskEventPage(List.of(), relay.lastPosition()));
+            }
+            TaskEventService.checkPosition(since, relay);
+            int size = TaskEventService.pageSize(limit);
+            Mono<TaskEventPage> page = repository.findEventsAfter(since, size).collectList()
+                    .map(events -> TaskEventService.page(events, since));
+            if (wait.isZero() || wait.isNegative()) {
+                return page;
+            }
+            Duration timeout = wait.compareTo(TaskEventService.MAX_WAIT) > 0 ? TaskEventService.MAX_WAIT : wait;
+            return page.flatMap(first -> !first.events().isEmpty() ? Mono.just(first)
+                    : Mono.fromFuture(() -> eventNotifier.awaitAfter(since))
+                            .timeout(timeout, Mono.just(since))
+                            .flatMap(head -> head > since ? page : Mono.just(first)));
+        });
+    }
+
+    /** Same as {@link TaskEventService#relay()}. */
+    @Scheduled(fixedDelayString = "${tasklist.events.relay-interval:PT0.2S}")
+    public Mono<Void> relayEvents() {
+        return relayEventBatch()
+                .expand(published -> published == eventBatchSize ? relayEventBatch() : Mono.empty())
+                .then();
+    }
+
+    private Mono<Integer> relayEventBatch() {
+        return repository.findUnpublishedEvents(1).hasElements().flatMap(pending -> {
+            if (!pending) {
+                return repository.eventRelay().flatMap(relay -> published(relay.lastPosition())).thenReturn(0);
+            }
+            return repository.lockEventRelay()
+                    .flatMap(after -> repository.findUnpublishedEvents(eventBatchSize).collectList()
+                            .flatMap(ids -> ids.isEmpty() ? Mono.just(after) : repository.publishEvents(ids, after))
+                            .map(last -> Map.entry(last, (int) (last - after))))
+                    .as(transactionalOperator::transactional)
+                    .flatMap(result -> {
+                        log.debug("Published {} task events through position {}", result.getValue(), result.getKey());
+                        return published(result.getKey()).thenReturn(result.getValue());
+                    });
+        });
+    }
+
+    /** Wakes long polls and fans the new events out to open streams with one read. */
+    private Mono<Void> published(long position) {
+        eventNotifier.published(position);
+        long from = streamHead.getAndAccumulate(position, Math::max);
+        if (from < 0 || position <= from || eventSink.currentSubscriberCount() == 0) {
+            return Mono.empty();
+        }
+        return repository.findEventsAfter(from, TaskEventService.MAX_PAGE_SIZE).collectList()
+                .expand(page -> page.size() < TaskEventService.MAX_PAGE_SIZE ? Mono.empty()
+                        : repository.findEventsAfter(page.get(page.size() - 1).position(), TaskEventService.MAX_PAGE_SIZE).collectList())
+                .flatMapIterable(page -> page)
+                .doOnNext(eventSink::tryEmitNext)
+                .then();
+    }
+
+    /**
+     * Same contract as {@code TaskEventStreams#open}: the events after {@code lastEventId},
+     * or from now, then live ones. The position is checked before the stream is handed out.
+     * Each stream buffers up to {@code tasklist.stream.buffer-size} events and fails with an
+     * overflow error past that.
+     */
+    public Mono<Flux<TaskEvent>> streamEvents(Long lastEventId) {
+        return repository.eventRelay().map(relay -> {
+            if (lastEventId != null) {
+                TaskEventService.checkPosition(lastEventId, relay);
+            }
+            long after = lastEventId != null ? lastEventId : relay.lastPosition();
+            return Flux.defer(() -> {
+                AtomicLong lastSent = new AtomicLong(after);
+                Sinks.Many<TaskEvent> buffer = Sinks.many().unicast()
+                        .onBackpressureBuffer(Queues.<TaskEvent>get(streamBufferSize).get());
+                // Subscribed before the catch-up reads, so no event falls between the two
+                Disposable live = eventSink.asFlux().subscribe(event -> {
+                    if (buffer.tryEmitNext(event).isFailure()) {
+                        buffer.tryEmitError(Exceptions.failWithOverflow(
+                                "Task event stream fell " + streamBufferSize + " events behind"));
+                    }
+                });
+                Flux<TaskEvent> catchUp = Flux.defer(() -> repository.findEventsAfter(lastSent.get(), TaskEventService.MAX_PAGE_SIZE))
+                        .doOnNext(event -> lastSent.set(event.position()))
+                        .collectList()
+                        .repeat()
+                        .takeWhile(page -> !page.isEmpty())
+                        .flatMapIterable(page -> page);
+                return Flux.concat(catchUp, buffer.asFlux().filter(event -> event.position() > lastSent.get()))
+                        .doFinally(signal -> live.dispose());
+            });
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${tasklist.events.purge-interval:PT1H}")
+    public Mono<Void> purgeEvents() {
+        return repository.purgeEvents(OffsetDateTime.now().minus(eventRetention))
+                .as(transactionalOperator::transactional)
+                .doOnNext(deleted -> {
+                    if (deleted > 0) {
+                        log.info("Purged {} task events older than {}", deleted, eventRetention);
+                    }
+                })
+                .then();
+    }
+
+    /** Every matching task, emitted as the subscriber requests them. */
+    public Flux<Task> stream(Boolean completed) {
+        return completed == null ? repository.streamAll() : repository.streamByCompleted(completed);
+    }
+
+    public Mono<Task> get(Long id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Task not found: " + id)));
+    }
+
+    public Mono<Task> getArchived(Long id) {
+        return repository.findArchivedById(id)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Archived task not found: " + id)));
+    }
+
+    public Mono<Task> markCompleted(Long id) {
+        return repository.markCompleted(id)
+                .flatMap(changed -> changed > 0
+                        ? repository.appendEvents(TaskEvent.Type.COMPLETED, List.of(id), OffsetDateTime.now())
+                                .then(repository.recordChange())
+                                .thenReturn(true)
+                        : Mono.just(false))
+                .flatMap(changed -> get(id).map(task -> Map.entry(changed, task)))
+                .as(transactionalOperator::transactional)
+                .map(result -> {
+                    if (result.getKey()) {
+                        log.debug("Marked task id={} as completed", id);
+                    } else {
+                        log.debug("Task id={} already completed", id);
+                    }
+                    return result.getValue();
+                });
+    }
+
+    public Mono<BulkCompleteResult> markAllCompleted(Collection<Long> ids) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        List<Long> completed = new ArrayList<>();
+        List<Long> alreadyCompleted = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+
+        return Flux.fromIterable(distinct)
+                .buffer(TaskService.COMPLETE_CHUNK_SIZE)
+                .concatMap(chunk -> repository.lockCompletionStates(chunk)
+                        .flatMap(states -> {
+                            List<Long> open = classify(chunk, states, alreadyCompleted, missing);
+                            completed.addAll(open);
+                            return open.isEmpty() ? Mono.just(0L) : repository.markAllCompleted(open)
+                                    .flatMap(updated -> repository.appendEvents(TaskEvent.Type.COMPLETED, open, OffsetDateTime.now())
+                                            .thenReturn(updated));
+                        }))
+                .then(Mono.fromSupplier(() -> {
+                    log.info("Bulk completion completed={} alreadyCompleted={} missing={}",
+                            completed.size(), alreadyCompleted.size(), missing.size());
+                    return new BulkCompleteResult(completed, alreadyCompleted, missing);
+                }))
+                .flatMap(result -> result.completed().isEmpty()
+                        ? Mono.just(result)
+                        : repository.recordChange().thenReturn(result))
+                .as(transactionalOperator::transactional);
+    }
+
+    /** Completes the open tasks due before {@code dueBefore} a chunk of ids at a time, one transaction each. */
+    public Mono<BulkCompleteResult> markAllCompletedDueBefore(OffsetDateTime dueBefore) {
+        int size = TaskService.COMPLETE_CHUNK_SIZE;
+        return repository.findOpenIdsDueBefore(dueBefore, 0L, size).collectList()
+                .expand(ids -> ids.size() < size
+                        ? Mono.empty()
+                        : repository.findOpenIdsDueBefore(dueBefore, ids.get(ids.size() - 1), size).collectList())
+                .filter(ids -> !ids.isEmpty())
+                .concatMap(this::markAllCompleted)
+                .reduceWith(() -> new BulkCompleteResult(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()),
+                        (total, chunk) -> {
+                            total.completed().addAll(chunk.completed());
+                            total.alreadyCompleted().addAll(chunk.alreadyCompleted());
+                            total.missing().addAll(chunk.missing());
+                            return total;
+                        });
+    }
+
+    /**
+     * Validates each item and inserts the valid ones in batches of
+     * {@code tasklist.bulk.batch-size}, one transaction per batch. A decoding error ends the
+     * ingestion and is reported at the index it occurred; earlier batches stay committed.
+     */
+    public Mono<BulkInsertResult> ingest(Flux<Task> items) {
+        AtomicInteger index = new AtomicInteger();
+        List<BulkInsertResult.ItemError> errors = new ArrayList<>();
+
+        return items
+                .filter(task -> {
+                    String violations = violations(task);
+                    int position = index.getAndIncrement();
+                    if (violations != null) {
+                        errors.add(new BulkInsertResult.ItemError(position, violations));
+                        return false;
+                    }
+                    return true;
+                })
+                .onErrorResume(ex -> {
+                    errors.add(new BulkInsertResult.ItemError(index.get(), "Malformed item: " + ex.getMessage()));
+                    return Flux.empty();
+                })
+                .buffer(batchSize)
+                .concatMap(batch -> repository.insertAll(batch).collectList()
+                        .flatMap(ids -> repository.appendEvents(TaskEvent.Type.CREATED, ids, OffsetDateTime.now())
+                                .then(repository.recordChange())
+                                .thenReturn(ids))
+                        .as(transactionalOperator::transactional))
+                .flatMapIterable(Function.identity())
+                .collectList()
+                .map(ids -> {
+                    log.info("Bulk ingestion accepted={} rejected={}", ids.size(), errors.size());
+                    return new BulkInsertResult(ids.size(), errors.size(), ids, List.copyOf(errors));
+                });
+    }
+
+    private static List<Long> classify(List<Long> chunk, Map<Long, Boolean> states,
+                                       List<Long> alreadyCompleted, List<Long> missing) {
+        List<Long> open = new ArrayList<>();
+        for (Long id : chunk) {
+            Boolean done = states.get(id);
+            if (done == null) {
+                missing.add(id);
+            } else if (done) {
+                alreadyCompleted.add(id);
+            } else {
+                open.add(id);
+            }
+        }
+        return open;
+    }
+
+    private String violations(Task task) {
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
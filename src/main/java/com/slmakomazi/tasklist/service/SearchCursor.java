@@ -0,0 +1,36 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.repository.TaskSearchHit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the (score desc, id) ordering of search hits. The score round-trips exactly
+ * through {@link Float#toString}, so the next page resumes on the same row the database
+ * computed. Opaque to clients, like {@link TaskCursor}.
+ */
+public record SearchCursor(float score, Long id) {
+
+    public static SearchCursor after(TaskSearchHit hit) {
+        return new SearchCursor(hit.score(), hit.task().getId());
+    }
+
+    public String encode() {
+        String raw = score + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            if (sep < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new SearchCursor(Float.parseFloat(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+        }
+    }
+}
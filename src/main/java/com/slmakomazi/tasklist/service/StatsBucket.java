@@ -0,0 +1,39 @@
+package com.slmakomazi.tasklist.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/** Width of the due-date buckets in {@link TaskStats}; weeks start on Monday (ISO). */
+public enum StatsBucket {
+    DAY(ChronoUnit.DAYS),
+    WEEK(ChronoUnit.WEEKS);
+
+    private final ChronoUnit unit;
+
+    StatsBucket(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public static StatsBucket parse(String bucket) {
+        if (bucket == null) {
+            return DAY;
+        }
+        try {
+            return valueOf(bucket.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported bucket: " + bucket, ex);
+        }
+    }
+
+    /** Start of the bucket holding {@code day}. */
+    LocalDate start(LocalDate day) {
+        return this == WEEK ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : day;
+    }
+
+    LocalDate plus(LocalDate start, long buckets) {
+        return start.plus(buckets, unit);
+    }
+}
@@ -0,0 +1,153 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.config.CacheConfig;
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskArchiveRepository;
+import com.slmakomazi.tasklist.repository.TaskChangeRepository;
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import com.slmakomazi.tasklist.repository.TaskEventRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps {@code tasks} to open and recently completed tasks. Every {@code archive-interval}
+ * completed tasks unchanged for {@code tasklist.archive.retention} move to
+ * {@code tasks_archive}, {@code batch-size} per transaction, each with an ARCHIVED event.
+ * A run stops after {@code max-batches} so it never holds a scheduler thread for long; a
+ * backlog larger than that drains over the following runs.
+ * The list and get endpoints read archived tasks only when asked to with
+ * {@code archived=true}.
+ */
+@Service
+@Profile("!reactive")
+public class TaskArchiveService implements MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiveService.class);
+
+    private final TaskArchiveRepository repository;
+    private final TaskEventRepository events;
+    private final TaskChangeRepository changes;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache tasks;
+    private final Cache taskLists;
+    private final boolean enabled;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatches;
+    private final AtomicLong moved = new AtomicLong();
+
+    public TaskArchiveService(TaskArchiveRepository repository,
+                              TaskEventRepository events,
+                              TaskChangeRepository changes,
+                              TransactionTemplate transactionTemplate,
+                              CacheManager cacheManager,
+                              @Value("${tasklist.archive.enabled:true}") boolean enabled,
+                              @Value("${tasklist.archive.retention:P30D}") Duration retention,
+                              @Value("${tasklist.archive.batch-size:1000}") int batchSize,
+                              @Value("${tasklist.archive.max-batches:10}") int maxBatches) {
+        this.repository = repository;
+        this.events = events;
+        this.changes = changes;
+        this.transactionTemplate = transactionTemplate;
+        this.tasks = Objects.requireNonNull(cacheManager.getCache(CacheConfig.TASKS));
+        this.taskLists = Objects.requireNonNull(cacheManager.getCache(CacheConfig.TASK_LISTS));
+        this.enabled = enabled;
+        this.retention = retention;
+        this.batchSize = Math.min(batchSize, TaskService.COMPLETE_CHUNK_SIZE);
+        this.maxBatches = maxBatches;
+    }
+
+    /** Archives tasks completed and unchanged for longer than the retention, up to max-batches of them. */
+    @Scheduled(fixedDelayString = "${tasklist.archive.interval:PT1H}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        int total = archiveCompletedBefore(OffsetDateTime.now().minus(retention), maxBatches);
+        if (total > 0) {
+            log.info("Archived {} completed tasks", total);
+        }
+    }
+
+    /** Moves the tasks completed and unchanged since before {@code before}; returns how many. */
+    public int archiveCompletedBefore(OffsetDateTime before) {
+        return archiveCompletedBefore(before, Integer.MAX_VALUE);
+    }
+
+    private int archiveCompletedBefore(OffsetDateTime before, int batches) {
+        int total = 0;
+        int batch;
+        do {
+            batch = archiveBatch(before);
+            total += batch;
+        } while (batch == batchSize && --batches > 0);
+        return total;
+    }
+
+    /** An archived task; fails with {@link IllegalArgumentException} if there is none. */
+    @Transactional(readOnly = true)
+    public Task get(Long id) {
+        log.debug("Loading archived task id={}", id);
+        return repository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Archived task not found: " + id));
+    }
+
+    /** One keyset page of archived tasks by (dueDate, id); {@code cursor} works as in {@link TaskService#list}. */
+    @Transactional(readOnly = true)
+    public TaskPage list(String cursor, int limit) {
+        int size = Math.min(Math.max(limit, 1), TaskService.MAX_PAGE_SIZE);
+        TaskCursor after = cursor == null ? null : TaskCursor.decode(cursor);
+        log.debug("Listing archived tasks after {} limit={}", after, size);
+        List<Task> rows = after == null
+                ? repository.findPage(null, null, size + 1)
+                : repository.findPage(after.dueDate(), after.id(), size + 1);
+        if (rows.size() <= size) {
+            return new TaskPage(List.copyOf(rows), null);
+        }
+        List<Task> items = List.copyOf(rows.subList(0, size));
+        return new TaskPage(items, TaskCursor.after(items.get(size - 1)).encode());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tasklist.archive.moved", moved, AtomicLong::get)
+                .description("Completed tasks moved to the archive table")
+                .register(registry);
+    }
+
+    int archiveBatch(OffsetDateTime before) {
+        List<Long> ids = transactionTemplate.execute(status -> {
+            List<Long> archivable = repository.findArchivable(before, batchSize);
+            if (archivable.isEmpty()) {
+                return archivable;
+            }
+            OffsetDateTime now = OffsetDateTime.now();
+            repository.move(archivable, now);
+            events.append(TaskEvent.Type.ARCHIVED, archivable, now);
+            changes.recordChange();
+            // The cache manager is transaction-aware: these apply once the move commits
+            archivable.forEach(tasks::evict);
+            taskLists.clear();
+            return archivable;
+        });
+        moved.addAndGet(ids.size());
+        log.debug("Archived {} tasks completed before {}", ids.size(), before);
+        return ids.size();
+    }
+}
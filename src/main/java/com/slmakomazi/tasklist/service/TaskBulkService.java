@@ -0,0 +1,208 @@
+package com.slmakomazi.tasklist.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.slmakomazi.tasklist.config.CacheConfig;
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskChangeRepository;
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import com.slmakomazi.tasklist.repository.TaskEventRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Ingests large numbers of tasks without going through {@code repository.save}. The
+ * IDENTITY id on {@link Task} stops Hibernate from batching inserts, so rows are written
+ * with JDBC batches instead and the generated keys are read back per batch.
+ */
+@Service
+@Profile("!reactive")
+public class TaskBulkService {
+    private static final Logger log = LoggerFactory.getLogger(TaskBulkService.class);
+
+    static final int MAX_REPORTED_ERRORS = 100;
+    static final String INSERT_SQL =
+            "insert into tasks (description, due_date, completed, version, updated_at) values (?, ?, ?, 0, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskChangeRepository changes;
+    private final TaskEventRepository events;
+    private final Validator validator;
+    private final ObjectReader taskReader;
+    private final int batchSize;
+
+    public TaskBulkService(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           TaskChangeRepository changes,
+                           TaskEventRepository events,
+                           Validator validator,
+                           ObjectMapper objectMapper,
+                           @Value("${tasklist.bulk.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.changes = changes;
+        this.events = events;
+        this.validator = validator;
+        this.taskReader = objectMapper.readerFor(Task.class);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads a JSON array or newline-delimited JSON objects from {@code body} and inserts the
+     * valid items in batches of {@code tasklist.bulk.batch-size}. Each batch commits on its
+     * own, so input is never buffered beyond one batch. Malformed JSON stops the ingestion;
+     * batches written before that point stay committed.
+     */
+    @CacheEvict(cacheNames = CacheConfig.TASK_LISTS, allEntries = true)
+    public BulkInsertResult ingest(InputStream body) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        List<BulkInsertResult.ItemError> errors = new ArrayList<>();
+        try (MappingIterator<Task> items = taskReader.readValues(body)) {
+            insert(items, ids::addAll, errors::add);
+        } catch (JsonProcessingException ex) {
+            errors.add(new BulkInsertResult.ItemError(0, "Malformed item: " + ex.getOriginalMessage()));
+        }
+
+        log.info("Bulk ingestion accepted={} rejected={}", ids.size(), errors.size());
+        return new BulkInsertResult(ids.size(), errors.size(), ids, errors);
+    }
+
+    /**
+     * Inserts {@code items} as {@link #ingest} does, for imports of any size: only counts and
+     * the first {@value #MAX_REPORTED_ERRORS} rejected items are kept, and {@code rows}
+     * hears of each batch once it commits.
+     */
+    @CacheEvict(cacheNames = CacheConfig.TASK_LISTS, allEntries = true)
+    public TaskImportResult importTasks(MappingIterator<Task> items, LongConsumer rows) throws IOException {
+        long start = System.nanoTime();
+        AtomicLong imported = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        List<BulkInsertResult.ItemError> errors = new ArrayList<>();
+        insert(items, ids -> {
+            imported.addAndGet(ids.size());
+            rows.accept(ids.size());
+        }, error -> {
+            if (rejected.getAndIncrement() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        });
+        long rowsPerSecond = TaskImportResult.rowsPerSecond(imported.get(), System.nanoTime() - start);
+        log.info("Import imported={} rejected={} at {} rows/s", imported.get(), rejected.get(), rowsPerSecond);
+        return new TaskImportResult(imported.get(), rejected.get(), errors, rowsPerSecond);
+    }
+
+    /**
+     * Hands the ids of each committed batch to {@code inserted} and every invalid item to
+     * {@code rejected}. Malformed input ends the loop as a rejected item.
+     */
+    private void insert(MappingIterator<Task> items, Consumer<List<Long>> inserted,
+                        Consumer<BulkInsertResult.ItemError> rejected) throws IOException {
+        List<Task> batch = new ArrayList<>(batchSize);
+        int index = 0;
+        try {
+            while (items.hasNextValue()) {
+                Task task;
+                try {
+                    task = items.nextValue();
+                } catch (JsonProcessingException ex) {
+                    rejected.accept(new BulkInsertResult.ItemError(index, "Malformed item: " + ex.getOriginalMessage()));
+                    break;
+                }
+                String violations = violations(task);
+                if (violations != null) {
+                    rejected.accept(new BulkInsertResult.ItemError(index, violations));
+                } else {
+                    task.setId(null);
+                    batch.add(task);
+                    if (batch.size() == batchSize) {
+                        inserted.accept(insertBatch(batch));
+                        batch.clear();
+                    }
+                }
+                index++;
+            }
+        } catch (JsonProcessingException ex) {
+            rejected.accept(new BulkInsertResult.ItemError(index, "Malformed item: " + ex.getOriginalMessage()));
+        }
+        if (!batch.isEmpty()) {
+            inserted.accept(insertBatch(batch));
+        }
+    }
+
+    /** Inserts one batch and its CREATED events in a single transaction. */
+    List<Long> insertBatch(List<Task> batch) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Long> ids = transactionTemplate.execute(status -> {
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Task task = batch.get(i);
+                            ps.setString(1, task.getDescription());
+                            ps.setObject(2, task.getDueDate());
+                            ps.setBoolean(3, task.isCompleted());
+                            ps.setObject(4, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    },
+                    keys);
+            List<Long> inserted = new ArrayList<>(batch.size());
+            for (Map<String, Object> row : keys.getKeyList()) {
+                inserted.add(((Number) row.values().iterator().next()).longValue());
+            }
+            events.append(TaskEvent.Type.CREATED, inserted, now);
+            changes.recordChange();
+            return inserted;
+        });
+        log.debug("Inserted batch of {} tasks", batch.size());
+        return ids;
+    }
+
+    private String violations(Task task) {
+        if (task == null) {
+            return "Item is null";
+        }
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,196 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.model.Task;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind for {@code PUT /api/tasks/{id}/complete}, off unless
+ * {@code tasklist.completions.write-behind.enabled} is set.
+ * <p>
+ * Completions wait on a bounded queue. A flusher thread takes up to {@code max-batch} of
+ * them, or whatever arrived within {@code flush-interval} of the first, folds repeats of
+ * the same id together and completes them all in one transaction. Each caller's future
+ * completes only after that commit, so a response always describes a stored completion.
+ * A completion that never got its response may be lost in a crash and should be retried,
+ * which is harmless. When the queue is full, or the node is shutting down, a completion
+ * runs in its own transaction as it does without write-behind.
+ */
+@Service
+@Profile("!reactive")
+public class TaskCompletionBatcher implements MeterBinder, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(TaskCompletionBatcher.class);
+
+    private final TaskService service;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<Pending> queue;
+    private final Thread flusher;
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+    private volatile boolean closed;
+
+    public TaskCompletionBatcher(TaskService service,
+                                 @Value("${tasklist.completions.write-behind.enabled:false}") boolean enabled,
+                                 @Value("${tasklist.completions.write-behind.max-batch:500}") int maxBatch,
+                                 @Value("${tasklist.completions.write-behind.flush-interval:PT0.01S}") Duration flushInterval,
+                                 @Value("${tasklist.completions.write-behind.queue-capacity:10000}") int queueCapacity) {
+        if (maxBatch < 1 || maxBatch > TaskService.COMPLETE_CHUNK_SIZE || queueCapacity < maxBatch) {
+            throw new IllegalArgumentException("Write-behind needs 1 <= max-batch <= " + TaskService.COMPLETE_CHUNK_SIZE
+                    + " and queue-capacity >= max-batch");
+        }
+        this.service = service;
+        this.enabled = enabled;
+        this.maxBatch = maxBatch;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flusher = enabled ? Thread.ofPlatform().name("task-completions").daemon().start(this::run) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Completes the task once its batch commits, with the task as stored then; fails with
+     * {@link IllegalArgumentException} if there is no such task.
+     */
+    public CompletableFuture<Task> complete(Long id) {
+        if (!enabled || closed) {
+            return completeNow(id);
+        }
+        Pending pending = new Pending(id, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            overflowed.incrementAndGet();
+            log.debug("Completion queue full, completing task id={} directly", id);
+            return completeNow(id);
+        }
+        // Shutdown drained the queue for the last time in between: don't wait on it
+        if (closed && queue.remove(pending)) {
+            return completeNow(id);
+        }
+        return pending.future();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasklist.completions.queued", queue, BlockingQueue::size)
+                .description("Completions waiting for the next write-behind flush")
+                .register(registry);
+        FunctionCounter.builder("tasklist.completions.flushes", flushes, AtomicLong::get)
+                .description("Write-behind flushes, one transaction each")
+                .register(registry);
+        FunctionCounter.builder("tasklist.completions.flushed", flushed, AtomicLong::get)
+                .description("Distinct tasks written by write-behind flushes")
+                .register(registry);
+        FunctionCounter.builder("tasklist.completions.coalesced", coalesced, AtomicLong::get)
+                .description("Completions folded into another for the same task in a flush")
+                .register(registry);
+        FunctionCounter.builder("tasklist.completions.overflowed", overflowed, AtomicLong::get)
+                .description("Completions written directly because the queue was full")
+                .register(registry);
+    }
+
+    /** Stops queueing and flushes what is already queued before the context closes. */
+    @Override
+    public void destroy() throws InterruptedException {
+        closed = true;
+        if (flusher == null) {
+            return;
+        }
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        List<Pending> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        flush(rest);
+    }
+
+    private CompletableFuture<Task> completeNow(Long id) {
+        try {
+            return CompletableFuture.completedFuture(service.markCompleted(id));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                queue.drainTo(batch, maxBatch - batch.size());
+                while (batch.size() < maxBatch) {
+                    Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatch - batch.size());
+                }
+            } catch (InterruptedException ex) {
+                // Shutting down; whatever was taken is flushed below and the rest by destroy()
+                closed = true;
+            }
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    void flush(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Long, List<CompletableFuture<Task>>> waiting = new LinkedHashMap<>();
+        for (Pending pending : batch) {
+            waiting.computeIfAbsent(pending.taskId(), id -> new ArrayList<>(1)).add(pending.future());
+        }
+        Map<Long, Task> tasks;
+        try {
+            tasks = service.markCompletedBatch(waiting.keySet());
+        } catch (RuntimeException ex) {
+            log.warn("Could not flush {} task completions: {}", waiting.size(), ex.getMessage());
+            waiting.values().forEach(futures -> futures.forEach(future -> future.completeExceptionally(ex)));
+            return;
+        }
+        flushes.incrementAndGet();
+        flushed.addAndGet(waiting.size());
+        coalesced.addAndGet(batch.size() - waiting.size());
+        log.debug("Flushed {} completions of {} tasks", batch.size(), waiting.size());
+        waiting.forEach((id, futures) -> {
+            Task task = tasks.get(id);
+            for (CompletableFuture<Task> future : futures) {
+                if (task != null) {
+                    future.complete(task);
+                } else {
+                    future.completeExceptionally(new IllegalArgumentException("Task not found: " + id));
+                }
+            }
+        });
+    }
+
+    record Pending(Long taskId, CompletableFuture<Task> future) {
+    }
+}
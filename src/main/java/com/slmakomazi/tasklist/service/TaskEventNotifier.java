@@ -0,0 +1,38 @@
+package com.slmakomazi.tasklist.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wakes long-poll waiters once the relay has published past their position. Waiting
+ * costs a map entry, not a thread; a waiter leaves the map however its future completes.
+ */
+final class TaskEventNotifier {
+    private final AtomicLong head = new AtomicLong();
+    private final Map<CompletableFuture<Long>, Long> waiters = new ConcurrentHashMap<>();
+
+    /** Records that events up to {@code position} can be read and wakes those waiting for them. */
+    void published(long position) {
+        long now = head.accumulateAndGet(position, Math::max);
+        waiters.forEach((waiter, after) -> {
+            if (after < now) {
+                waiter.complete(now);
+            }
+        });
+    }
+
+    /** Completes with the new head once an event after {@code position} is published. */
+    CompletableFuture<Long> awaitAfter(long position) {
+        CompletableFuture<Long> waiter = new CompletableFuture<>();
+        waiters.put(waiter, position);
+        waiter.whenComplete((value, ex) -> waiters.remove(waiter));
+        // A publish between the caller's read and the put above would otherwise be missed
+        long now = head.get();
+        if (now > position) {
+            waiter.complete(now);
+        }
+        return waiter;
+    }
+}
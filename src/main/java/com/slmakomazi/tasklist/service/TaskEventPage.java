@@ -0,0 +1,9 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.repository.TaskEvent;
+
+import java.util.List;
+
+/** Events after the requested position; pass {@code next} back as {@code since}. */
+public record TaskEventPage(List<TaskEvent> events, long next) {
+}
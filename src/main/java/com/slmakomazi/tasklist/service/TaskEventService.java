@@ -0,0 +1,163 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import com.slmakomazi.tasklist.repository.TaskEventRelay;
+import com.slmakomazi.tasklist.repository.TaskEventRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Relays the {@code task_events} outbox and serves it to consumers by position.
+ * <p>
+ * The relay numbers unpublished events in batches under the relay row lock, so positions
+ * become visible in order and a consumer paging with {@code since} never skips one that
+ * commits late. Published events are kept for {@code tasklist.events.retention}.
+ */
+@Service
+@Profile("!reactive")
+@Timed(value = "tasklist.service.events", description = "TaskEventService method latency: event pages, relay and purge")
+public class TaskEventService {
+    private static final Logger log = LoggerFactory.getLogger(TaskEventService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    /** Long polls are answered within this, below the 30s servlet async timeout. */
+    public static final Duration MAX_WAIT = Duration.ofSeconds(25);
+
+    private final TaskEventRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final TaskEventNotifier notifier = new TaskEventNotifier();
+    private final List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+    private final int batchSize;
+    private final Duration retention;
+
+    public TaskEventService(TaskEventRepository repository,
+                            TransactionTemplate transactionTemplate,
+                            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor,
+                            @Value("${tasklist.events.relay-batch-size:500}") int batchSize,
+                            @Value("${tasklist.events.retention:P7D}") Duration retention) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    /**
+     * Events after position {@code since}, oldest first. Without {@code since} the page is
+     * empty and {@code next} is the current position: read the task list after that and
+     * follow changes from there.
+     *
+     * @throws TaskEventsExpiredException if events after {@code since} have been purged
+     */
+    public TaskEventPage changes(Long since, int limit) {
+        TaskEventRelay relay = repository.relay();
+        if (since == null) {
+            return new TaskEventPage(List.of(), relay.lastPosition());
+        }
+        checkPosition(since, relay);
+        return page(repository.findAfter(since, pageSize(limit)), since);
+    }
+
+    /**
+     * Like {@link #changes(Long, int)}, but when there is nothing after {@code since} yet,
+     * completes once the relay publishes something or after {@code wait}, whichever is
+     * first. Validation errors are thrown before waiting.
+     */
+    public CompletableFuture<TaskEventPage> changes(Long since, int limit, Duration wait) {
+        TaskEventPage page = changes(since, limit);
+        if (since == null || !page.events().isEmpty() || wait.isZero() || wait.isNegative()) {
+            return CompletableFuture.completedFuture(page);
+        }
+        long timeout = Math.min(wait.toMillis(), MAX_WAIT.toMillis());
+        return notifier.awaitAfter(since)
+                .completeOnTimeout(since, timeout, TimeUnit.MILLISECONDS)
+                .thenApplyAsync(head -> head > since ? page(repository.findAfter(since, pageSize(limit)), since) : page,
+                        executor);
+    }
+
+    /**
+     * Calls {@code listener} on the relay thread with the last published position after
+     * every relay run, including runs where another node did the publishing.
+     */
+    public void onPublished(LongConsumer listener) {
+        listeners.add(listener);
+    }
+
+    /** Publishes every pending event, one batch per transaction. */
+    @Scheduled(fixedDelayString = "${tasklist.events.relay-interval:PT0.2S}")
+    public void relay() {
+        int published;
+        do {
+            published = relayBatch();
+        } while (published == batchSize);
+    }
+
+    int relayBatch() {
+        // Cheap unlocked check first, so idle relays on every node never queue on the lock
+        if (repository.findUnpublished(1).isEmpty()) {
+            published(repository.relay().lastPosition());
+            return 0;
+        }
+        long[] last = new long[1];
+        int published = transactionTemplate.execute(status -> {
+            long after = repository.lockRelay();
+            List<Long> ids = repository.findUnpublished(batchSize);
+            last[0] = ids.isEmpty() ? after : repository.publish(ids, after);
+            return ids.size();
+        });
+        log.debug("Published {} task events through position {}", published, last[0]);
+        published(last[0]);
+        return published;
+    }
+
+    private void published(long position) {
+        notifier.published(position);
+        for (LongConsumer listener : listeners) {
+            listener.accept(position);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tasklist.events.purge-interval:PT1H}")
+    public void purge() {
+        int deleted = transactionTemplate.execute(status -> repository.purge(OffsetDateTime.now().minus(retention)));
+        if (deleted > 0) {
+            log.info("Purged {} task events older than {}", deleted, retention);
+        }
+    }
+
+    static void checkPosition(long since, TaskEventRelay relay) {
+        if (since < 0 || since > relay.lastPosition()) {
+            throw new IllegalArgumentException("Unknown event position: " + since);
+        }
+        if (since < relay.purgedThrough()) {
+            throw new TaskEventsExpiredException(since, relay.purgedThrough());
+        }
+    }
+
+    static int pageSize(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    }
+
+    static TaskEventPage page(List<TaskEvent> events, long since) {
+        return new TaskEventPage(events, events.isEmpty() ? since : events.get(events.size() - 1).position());
+    }
+}
@@ -0,0 +1,11 @@
+package com.slmakomazi.tasklist.service;
+
+/**
+ * Thrown when events after the requested position have already been purged; the consumer
+ * has to reload the task list and follow changes from the current position.
+ */
+public class TaskEventsExpiredException extends RuntimeException {
+    public TaskEventsExpiredException(long since, long purgedThrough) {
+        super("Events after " + since + " were purged through " + purgedThrough);
+    }
+}
@@ -0,0 +1,15 @@
+package com.slmakomazi.tasklist.service;
+
+import java.util.List;
+
+/**
+ * Outcome of an import. Unlike {@link BulkInsertResult} it holds no ids, and {@code errors}
+ * only the first rejected items, so it stays small however large the file was.
+ */
+public record TaskImportResult(long imported, long rejected, List<BulkInsertResult.ItemError> errors,
+                               long rowsPerSecond) {
+
+    static long rowsPerSecond(long rows, long elapsedNanos) {
+        return elapsedNanos <= 0 ? rows : rows * 1_000_000_000L / elapsedNanos;
+    }
+}
@@ -0,0 +1,12 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.model.Task;
+
+import java.util.List;
+
+/**
+ * One keyset page of tasks. {@code next} is the opaque cursor for the following page,
+ * or {@code null} when this page is the last one.
+ */
+public record TaskPage(List<Task> items, String next) {
+}
@@ -0,0 +1,189 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.repository.TaskDeadline;
+import com.slmakomazi.tasklist.repository.TaskDeadlineRepository;
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import com.slmakomazi.tasklist.repository.TaskEventRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Announces task deadlines through the outbox: DUE_SOON {@code tasklist.reminders.lead}
+ * before a task's due date and OVERDUE at it, once each, unless the task is completed first.
+ * <p>
+ * Every {@code claim-interval} this node claims, in batches, the open tasks whose next
+ * event fires within {@code horizon}, and holds them in a timing wheel until then. Nothing
+ * scans the table or waits on a thread per task; the claim query only reads the index of
+ * deadlines still to fire. A task whose node dies before firing is claimed again by
+ * another node once {@code claim-timeout} past its event time has gone by.
+ */
+@Service
+@Profile("!reactive")
+public class TaskReminderService implements MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(TaskReminderService.class);
+
+    private static final int WHEEL_SIZE = 64;
+
+    private final TaskDeadlineRepository repository;
+    private final TaskEventRepository events;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration lead;
+    private final Duration horizon;
+    private final Duration claimTimeout;
+    private final int batchSize;
+    private final TimingWheel<Reminder> wheel;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong dueSoon = new AtomicLong();
+    private final AtomicLong overdue = new AtomicLong();
+
+    public TaskReminderService(TaskDeadlineRepository repository,
+                               TaskEventRepository events,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${tasklist.reminders.enabled:true}") boolean enabled,
+                               @Value("${tasklist.reminders.lead:PT15M}") Duration lead,
+                               @Value("${tasklist.reminders.horizon:PT2M}") Duration horizon,
+                               @Value("${tasklist.reminders.claim-timeout:PT1M}") Duration claimTimeout,
+                               @Value("${tasklist.reminders.batch-size:500}") int batchSize,
+                               @Value("${tasklist.reminders.tick:PT0.1S}") Duration tick) {
+        this.repository = repository;
+        this.events = events;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.lead = lead;
+        this.horizon = horizon;
+        this.claimTimeout = claimTimeout;
+        this.batchSize = batchSize;
+        this.wheel = new TimingWheel<>(tick.toMillis(), WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    /** Claims every deadline firing within the horizon, one batch per transaction. */
+    @Scheduled(fixedDelayString = "${tasklist.reminders.claim-interval:PT30S}")
+    public void claim() {
+        if (!enabled) {
+            return;
+        }
+        int batch;
+        do {
+            batch = claimBatch();
+        } while (batch == batchSize);
+    }
+
+    /** Fires the reminders that came due since the last tick. */
+    @Scheduled(fixedRateString = "${tasklist.reminders.tick:PT0.1S}")
+    public void tick() {
+        List<Reminder> due = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(System.currentTimeMillis(), due::add);
+        }
+        fire(due);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasklist.reminders.pending", this, TaskReminderService::pending)
+                .description("Claimed deadlines waiting in this node's timing wheel")
+                .register(registry);
+        FunctionCounter.builder("tasklist.reminders.claimed", claimed, AtomicLong::get)
+                .description("Deadlines claimed by this node")
+                .register(registry);
+        FunctionCounter.builder("tasklist.reminders.fired", dueSoon, AtomicLong::get)
+                .description("Deadline events written to the outbox")
+                .tag("type", TaskEvent.Type.DUE_SOON.name())
+                .register(registry);
+        FunctionCounter.builder("tasklist.reminders.fired", overdue, AtomicLong::get)
+                .description("Deadline events written to the outbox")
+                .tag("type", TaskEvent.Type.OVERDUE.name())
+                .register(registry);
+    }
+
+    int pending() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    int claimBatch() {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Reminder> claimedBatch = transactionTemplate.execute(status -> {
+            List<TaskDeadline> deadlines = repository.findClaimable(now, now.plus(horizon), lead, batchSize);
+            Map<Long, OffsetDateTime> claimedUntil = new LinkedHashMap<>();
+            List<Reminder> reminders = new ArrayList<>(deadlines.size());
+            for (TaskDeadline deadline : deadlines) {
+                Reminder reminder = Reminder.next(deadline, lead, now);
+                reminders.add(reminder);
+                claimedUntil.put(deadline.taskId(), reminder.firesAt().plus(claimTimeout));
+            }
+            if (!claimedUntil.isEmpty()) {
+                repository.claim(claimedUntil);
+            }
+            return reminders;
+        });
+        List<Reminder> due = new ArrayList<>();
+        synchronized (wheel) {
+            for (Reminder reminder : claimedBatch) {
+                if (!wheel.schedule(reminder.firesAt().toInstant().toEpochMilli(), reminder)) {
+                    due.add(reminder);
+                }
+            }
+        }
+        claimed.addAndGet(claimedBatch.size());
+        log.debug("Claimed {} task deadlines, {} already due", claimedBatch.size(), due.size());
+        fire(due);
+        return claimedBatch.size();
+    }
+
+    private void fire(List<Reminder> due) {
+        if (due.isEmpty()) {
+            return;
+        }
+        List<Long> soon = due.stream().filter(r -> r.type() == TaskEvent.Type.DUE_SOON).map(Reminder::taskId).toList();
+        List<Long> late = due.stream().filter(r -> r.type() == TaskEvent.Type.OVERDUE).map(Reminder::taskId).toList();
+        OffsetDateTime now = OffsetDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            dueSoon.addAndGet(append(TaskEvent.Type.DUE_SOON, soon, now));
+            overdue.addAndGet(append(TaskEvent.Type.OVERDUE, late, now));
+        });
+    }
+
+    private int append(TaskEvent.Type type, List<Long> taskIds, OffsetDateTime now) {
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> fired = repository.fire(taskIds, type == TaskEvent.Type.OVERDUE);
+        if (!fired.isEmpty()) {
+            events.append(type, fired, now);
+        }
+        return fired.size();
+    }
+
+    /** The next event of a claimed deadline, and when it fires. */
+    record Reminder(long taskId, TaskEvent.Type type, OffsetDateTime firesAt) {
+
+        /** DUE_SOON {@code lead} ahead, unless the task is already past due. */
+        static Reminder next(TaskDeadline deadline, Duration lead, OffsetDateTime now) {
+            OffsetDateTime due = deadline.dueDate();
+            if (deadline.reminded() || !due.isAfter(now)) {
+                return new Reminder(deadline.taskId(), TaskEvent.Type.OVERDUE, due);
+            }
+            return new Reminder(deadline.taskId(), TaskEvent.Type.DUE_SOON, due.minus(lead));
+        }
+    }
+}
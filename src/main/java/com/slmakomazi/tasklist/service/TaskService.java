@@ -1,49 +1,320 @@
 package com.slmakomazi.tasklist.service;
 
+import com.slmakomazi.tasklist.config.CacheConfig;
 import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskChangeRepository;
+import com.slmakomazi.tasklist.repository.TaskChanges;
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import com.slmakomazi.tasklist.repository.TaskEventRepository;
+import com.slmakomazi.tasklist.repository.TaskFilter;
 import com.slmakomazi.tasklist.repository.TaskRepository;
+import com.slmakomazi.tasklist.repository.TaskSearchHit;
+import com.slmakomazi.tasklist.repository.TaskSearchRepository;
+import com.slmakomazi.tasklist.repository.TaskSpecifications;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!reactive")
+@Timed(value = "tasklist.service", description = "TaskService method latency, cache hits included")
 public class TaskService {
     private static final Logger log = LoggerFactory.getLogger(TaskService.class);
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    /** Ids per IN list when completing in bulk; keeps statements well under driver parameter limits. */
+    static final int COMPLETE_CHUNK_SIZE = 1000;
+    /** Longer search strings are rejected rather than parsed into huge tsqueries. */
+    static final int MAX_QUERY_LENGTH = 200;
+
     private final TaskRepository repository;
+    private final TaskChangeRepository changes;
+    private final TaskSearchRepository searchRepository;
+    private final TaskEventRepository events;
+    private final EntityManager entityManager;
 
-    public TaskService(TaskRepository repository) {
+    public TaskService(TaskRepository repository, TaskChangeRepository changes,
+                       TaskSearchRepository searchRepository, TaskEventRepository events,
+                       EntityManager entityManager) {
         this.repository = repository;
+        this.changes = changes;
+        this.searchRepository = searchRepository;
+        this.events = events;
+        this.entityManager = entityManager;
     }
 
+    /** Inserts the task and its CREATED event in one transaction. */
+    @CacheEvict(cacheNames = CacheConfig.TASK_LISTS, allEntries = true)
+    @Transactional
     public Task create(Task task) {
-        log.info("Creating task with description='{}' dueDate='{}'", task.getDescription(), task.getDueDate());
-        return repository.save(task);
+        Task saved = repository.save(task);
+        events.append(TaskEvent.Type.CREATED, List.of(saved.getId()), OffsetDateTime.now());
+        changes.recordChange();
+        log.debug("Created task id={} dueDate={}", saved.getId(), saved.getDueDate());
+        return saved;
+    }
+
+    /** Current table-level change counter; one primary-key read, never cached. */
+    public TaskChanges changes() {
+        return changes.current();
     }
 
-    public List<Task> list(Boolean completed) {
-        if (completed == null) {
-            log.debug("Listing all tasks");
-            return repository.findAll();
+    /**
+     * Returns one keyset page of the tasks matching {@code filter}, ordered by (dueDate, id)
+     * in the filter's direction. {@code cursor} is the {@code next} value of the previous
+     * page, or {@code null} for the first page, and must be used with the same filter.
+     * <p>
+     * {@code asOf} is the change counter the caller read before asking; it only takes part
+     * in the cache key, so a page loaded just before a write can never be served under the
+     * counter value that follows it. Overdue pages depend on the clock and are not cached.
+     */
+    @Cacheable(cacheNames = CacheConfig.TASK_LISTS, condition = "!#filter.overdue()")
+    @Transactional(readOnly = true)
+    public TaskPage list(TaskFilter filter, String cursor, int limit, long asOf) {
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        TaskCursor after = cursor == null ? null : TaskCursor.decode(cursor);
+        // One extra row tells us whether another page exists without a count query
+        List<Task> rows = filter.isPlain()
+                ? findPlainPage(filter.completed(), after, size + 1)
+                : findFilteredPage(filter, after, size + 1);
+        if (rows.size() <= size) {
+            return new TaskPage(List.copyOf(rows), null);
         }
-        log.debug("Listing tasks with completed={}", completed);
-        return repository.findByCompleted(completed);
+        List<Task> items = List.copyOf(rows.subList(0, size));
+        return new TaskPage(items, TaskCursor.after(items.get(size - 1)).encode());
     }
 
+    private List<Task> findPlainPage(Boolean completed, TaskCursor after, int fetch) {
+        Limit limit = Limit.of(fetch);
+        if (after == null) {
+            log.debug("Listing first page completed={} limit={}", completed, fetch - 1);
+            return completed == null
+                    ? repository.findByOrderByDueDateAscIdAsc(limit)
+                    : repository.findByCompletedOrderByDueDateAscIdAsc(completed, limit);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Listing page after {} completed={} limit={}", after, completed, fetch - 1);
+        }
+        return completed == null
+                ? repository.findPageAfter(after.dueDate(), after.id(), limit)
+                : repository.findPageAfter(completed, after.dueDate(), after.id(), limit);
+    }
+
+    private List<Task> findFilteredPage(TaskFilter filter, TaskCursor after, int fetch) {
+        if (log.isDebugEnabled()) {
+            log.debug("Listing page after {} filter={} limit={}", after, filter, fetch - 1);
+        }
+        Specification<Task> spec = TaskSpecifications.matching(filter, OffsetDateTime.now());
+        if (after != null) {
+            spec = spec.and(TaskSpecifications.after(after.dueDate(), after.id(), filter.descending()));
+        }
+        return repository.findBy(spec, query -> query
+                .sortBy(TaskSpecifications.order(filter.descending()))
+                .limit(fetch)
+                .all());
+    }
+
+    /**
+     * Returns one page of tasks whose description matches {@code query}, best match first
+     * and ties broken by id. {@code cursor} works as in {@link #list}. Not cached: search
+     * strings are too varied for hits to pay for the entries.
+     */
+    @Transactional(readOnly = true)
+    public TaskPage search(String query, String cursor, int limit) {
+        String q = checkQuery(query);
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<TaskSearchHit> hits;
+        if (cursor == null) {
+            log.debug("Searching first page limit={}", size);
+            hits = searchRepository.search(q, null, null, size + 1);
+        } else {
+            SearchCursor after = SearchCursor.decode(cursor);
+            if (log.isDebugEnabled()) {
+                log.debug("Searching page after {} limit={}", after, size);
+            }
+            hits = searchRepository.search(q, after.score(), after.id(), size + 1);
+        }
+        return searchPage(hits, size);
+    }
+
+    static String checkQuery(String query) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query longer than " + MAX_QUERY_LENGTH + " characters");
+        }
+        return query.strip();
+    }
+
+    static TaskPage searchPage(List<TaskSearchHit> hits, int size) {
+        List<Task> items = hits.stream().limit(size).map(TaskSearchHit::task).toList();
+        if (hits.size() <= size) {
+            return new TaskPage(items, null);
+        }
+        return new TaskPage(items, SearchCursor.after(hits.get(size - 1)).encode());
+    }
+
+    @Cacheable(CacheConfig.TASKS)
+    @Transactional(readOnly = true)
+    public Task get(Long id) {
+        log.debug("Loading task id={}", id);
+        return repository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found: " + id));
+    }
+
+    /**
+     * Feeds every matching task to {@code sink} straight off a JDBC cursor. Each row is
+     * detached once handed over, so memory stays flat regardless of table size.
+     */
+    @Transactional(readOnly = true)
+    public void stream(Boolean completed, Consumer<Task> sink) {
+        log.debug("Streaming tasks with completed={}", completed);
+        try (Stream<Task> tasks = completed == null
+                ? repository.streamAll()
+                : repository.streamByCompleted(completed)) {
+            tasks.forEach(task -> {
+                sink.accept(task);
+                entityManager.detach(task);
+            });
+        }
+    }
+
+    /**
+     * Completes a task with a single conditional UPDATE and reads the row back for the
+     * response; the entity is never loaded into the persistence context to be modified.
+     * Only an actual change writes a COMPLETED event.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASK_LISTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#id")
+    })
     @Transactional
     public Task markCompleted(Long id) {
+        boolean changed = repository.markCompleted(id) > 0;
         Task task = repository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Task not found: " + id));
-        if (!task.isCompleted()) {
-            task.setCompleted(true);
-            repository.save(task); // Explicitly save to ensure persistence
-            log.info("Marked task id={} as completed", id);
+        if (changed) {
+            events.append(TaskEvent.Type.COMPLETED, List.of(id), OffsetDateTime.now());
+            changes.recordChange();
+            log.debug("Marked task id={} as completed", id);
         } else {
-            log.info("Task id={} already completed", id);
+            log.debug("Task id={} already completed", id);
         }
         return task;
     }
+
+    /**
+     * Completes the given tasks in chunks of {@value #COMPLETE_CHUNK_SIZE} ids, each chunk
+     * costing one locking SELECT to classify the ids and one UPDATE for the open ones.
+     */
+    @CacheEvict(cacheNames = {CacheConfig.TASK_LISTS, CacheConfig.TASKS}, allEntries = true)
+    @Transactional
+    public BulkCompleteResult markAllCompleted(Collection<Long> ids) {
+        BulkCompleteResult result = completeAll(ids);
+        log.info("Bulk completion completed={} alreadyCompleted={} missing={}",
+                result.completed().size(), result.alreadyCompleted().size(), result.missing().size());
+        return result;
+    }
+
+    /**
+     * Completes a batch of single-task completions queued by {@link TaskCompletionBatcher}
+     * as {@link #markAllCompleted} does, and reads the tasks back for the waiting callers.
+     * Ids without a task are absent from the result.
+     */
+    @CacheEvict(cacheNames = {CacheConfig.TASK_LISTS, CacheConfig.TASKS}, allEntries = true)
+    @Transactional
+    public Map<Long, Task> markCompletedBatch(Collection<Long> ids) {
+        BulkCompleteResult result = completeAll(ids);
+        Map<Long, Task> tasks = new HashMap<>();
+        for (Task task : repository.findAllById(ids)) {
+            tasks.put(task.getId(), task);
+        }
+        log.debug("Batched completion completed={} alreadyCompleted={} missing={}",
+                result.completed().size(), result.alreadyCompleted().size(), result.missing().size());
+        return tasks;
+    }
+
+    private BulkCompleteResult completeAll(Collection<Long> ids) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        BulkCompleteResult result = new BulkCompleteResult(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (int from = 0; from < distinct.size(); from += COMPLETE_CHUNK_SIZE) {
+            completeChunk(distinct.subList(from, Math.min(from + COMPLETE_CHUNK_SIZE, distinct.size())), result);
+        }
+        if (!result.completed().isEmpty()) {
+            changes.recordChange();
+        }
+        return result;
+    }
+
+    /**
+     * Completes up to {@value #COMPLETE_CHUNK_SIZE} distinct ids into {@code result}. The
+     * rows stay locked from the SELECT on, so a task completed concurrently is counted
+     * and gets its COMPLETED event exactly once.
+     */
+    private void completeChunk(List<Long> chunk, BulkCompleteResult result) {
+        Map<Long, Boolean> states = new HashMap<>();
+        for (TaskRepository.CompletionState state : repository.lockCompletionStates(chunk)) {
+            states.put(state.getId(), state.isCompleted());
+        }
+        List<Long> open = new ArrayList<>();
+        for (Long id : chunk) {
+            Boolean done = states.get(id);
+            if (done == null) {
+                result.missing().add(id);
+            } else if (done) {
+                result.alreadyCompleted().add(id);
+            } else {
+                open.add(id);
+            }
+        }
+        if (!open.isEmpty()) {
+            repository.markAllCompleted(open);
+            events.append(TaskEvent.Type.COMPLETED, open, OffsetDateTime.now());
+            result.completed().addAll(open);
+        }
+    }
+
+    /** Completes every open task due before {@code dueBefore}, reading their ids a chunk at a time. */
+    @CacheEvict(cacheNames = {CacheConfig.TASK_LISTS, CacheConfig.TASKS}, allEntries = true)
+    @Transactional
+    public BulkCompleteResult markAllCompletedDueBefore(OffsetDateTime dueBefore) {
+        log.debug("Completing open tasks due before {}", dueBefore);
+        BulkCompleteResult result = new BulkCompleteResult(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        long afterId = 0;
+        List<Long> chunk;
+        do {
+            chunk = repository.findOpenIdsDueBefore(dueBefore, afterId, Limit.of(COMPLETE_CHUNK_SIZE));
+            if (!chunk.isEmpty()) {
+                completeChunk(chunk, result);
+                afterId = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == COMPLETE_CHUNK_SIZE);
+        if (!result.completed().isEmpty()) {
+            changes.recordChange();
+        }
+        log.info("Bulk completion completed={} alreadyCompleted={} missing={}",
+                result.completed().size(), result.alreadyCompleted().size(), result.missing().size());
+        return result;
+    }
 }
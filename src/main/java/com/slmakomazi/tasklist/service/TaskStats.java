@@ -0,0 +1,54 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.repository.DueDateCount;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Task counts for dashboards. {@code dueDates} covers the current bucket and the ones
+ * after it, empty buckets included; {@code computedAt} tells how fresh the numbers are.
+ */
+public record TaskStats(long total,
+                        long open,
+                        long completed,
+                        long overdue,
+                        StatsBucket bucket,
+                        List<DueBucket> dueDates,
+                        OffsetDateTime computedAt) {
+
+    /** Tasks due within [start, start + one bucket). */
+    public record DueBucket(LocalDate start, long open, long completed) {
+    }
+
+    /** Folds the per-day rows of the grouped query; the work grows with buckets, not tasks. */
+    static TaskStats of(List<DueDateCount> rows, StatsBucket bucket, LocalDate from, int buckets,
+                        OffsetDateTime computedAt) {
+        Map<LocalDate, long[]> counts = new LinkedHashMap<>();
+        for (int i = 0; i < buckets; i++) {
+            counts.put(bucket.plus(from, i), new long[2]);
+        }
+        long total = 0;
+        long completed = 0;
+        long overdue = 0;
+        for (DueDateCount row : rows) {
+            total += row.total();
+            completed += row.completed();
+            overdue += row.overdue();
+            if (row.day() != null) {
+                long[] slot = counts.get(bucket.start(row.day()));
+                if (slot != null) {
+                    slot[0] += row.total() - row.completed();
+                    slot[1] += row.completed();
+                }
+            }
+        }
+        List<DueBucket> dueDates = new ArrayList<>(buckets);
+        counts.forEach((start, slot) -> dueDates.add(new DueBucket(start, slot[0], slot[1])));
+        return new TaskStats(total, total - completed, completed, overdue, bucket, List.copyOf(dueDates), computedAt);
+    }
+}
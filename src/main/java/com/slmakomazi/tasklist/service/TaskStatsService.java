@@ -0,0 +1,70 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.repository.TaskStatsRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Serves {@link TaskStats} computed by one grouped query. With
+ * {@code tasklist.stats.max-staleness} set, a background refresh keeps a snapshot per
+ * bucket so requests cost a map lookup; a snapshot older than the bound is recomputed
+ * on the request instead of being served.
+ */
+@Service
+@Profile("!reactive")
+@Timed(value = "tasklist.service.stats", description = "TaskStatsService method latency, snapshot hits included")
+public class TaskStatsService {
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsService.class);
+
+    private final TaskStatsRepository repository;
+    private final TaskStatsSnapshots snapshots;
+    private final int buckets;
+
+    public TaskStatsService(TaskStatsRepository repository,
+                            @Value("${tasklist.stats.max-staleness:0s}") Duration maxStaleness,
+                            @Value("${tasklist.stats.buckets:14}") int buckets) {
+        this.repository = repository;
+        this.snapshots = new TaskStatsSnapshots(maxStaleness);
+        this.buckets = buckets;
+    }
+
+    public TaskStats stats(StatsBucket bucket) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        TaskStats snapshot = snapshots.get(bucket, now);
+        return snapshot != null ? snapshot : compute(bucket, now);
+    }
+
+    @Scheduled(fixedDelayString = "${tasklist.stats.refresh-interval:PT15S}")
+    public void refresh() {
+        if (!snapshots.isEnabled()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        Map<StatsBucket, TaskStats> stats = new EnumMap<>(StatsBucket.class);
+        for (StatsBucket bucket : StatsBucket.values()) {
+            stats.put(bucket, compute(bucket, now));
+        }
+        snapshots.put(stats);
+        log.debug("Refreshed task stats snapshot");
+    }
+
+    private TaskStats compute(StatsBucket bucket, OffsetDateTime now) {
+        LocalDate from = bucket.start(now.toLocalDate());
+        LocalDate to = bucket.plus(from, buckets);
+        return TaskStats.of(repository.countByDueDay(from.atStartOfDay().atOffset(ZoneOffset.UTC),
+                        to.atStartOfDay().atOffset(ZoneOffset.UTC), now),
+                bucket, from, buckets, now);
+    }
+}
@@ -0,0 +1,36 @@
+package com.slmakomazi.tasklist.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Last computed {@link TaskStats} per bucket, replaced wholesale by the refresher and read
+ * without locking. A snapshot older than the staleness bound is never handed out.
+ */
+final class TaskStatsSnapshots {
+    private final Duration maxStaleness;
+    private final AtomicReference<Map<StatsBucket, TaskStats>> snapshots = new AtomicReference<>(Map.of());
+
+    TaskStatsSnapshots(Duration maxStaleness) {
+        this.maxStaleness = maxStaleness;
+    }
+
+    boolean isEnabled() {
+        return !maxStaleness.isZero() && !maxStaleness.isNegative();
+    }
+
+    /** The snapshot for {@code bucket} if it is fresh enough at {@code now}, otherwise null. */
+    TaskStats get(StatsBucket bucket, OffsetDateTime now) {
+        TaskStats stats = snapshots.get().get(bucket);
+        if (stats == null || stats.computedAt().plus(maxStaleness).isBefore(now)) {
+            return null;
+        }
+        return stats;
+    }
+
+    void put(Map<StatsBucket, TaskStats> stats) {
+        snapshots.set(Map.copyOf(stats));
+    }
+}
@@ -0,0 +1,161 @@
+package com.slmakomazi.tasklist.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.slmakomazi.tasklist.config.WireFormatConfig;
+import com.slmakomazi.tasklist.model.Task;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exports and imports the whole task set as CSV or NDJSON in constant memory. An export
+ * writes each row as it comes off {@link TaskService#stream}'s cursor; an import parses
+ * one row at a time into {@link TaskBulkService}'s JDBC batches. Both count their rows in
+ * {@code tasklist.transfer.rows}, whose rate is the throughput of a running transfer.
+ */
+@Service
+@Profile("!reactive")
+public class TaskTransferService implements MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(TaskTransferService.class);
+
+    /** Task's properties in their JSON order; an import reads columns by header instead. */
+    static final CsvSchema CSV_COLUMNS = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("description")
+            .addColumn("dueDate")
+            .addColumn("completed")
+            .addColumn("version")
+            .addColumn("updatedAt")
+            .build()
+            .withHeader();
+
+    public enum Format {
+        CSV(WireFormatConfig.CSV, "csv"),
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        /** NDJSON if an Accept or Content-Type header names it, CSV otherwise. */
+        public static Format of(String header) {
+            return header != null && header.contains(MediaType.APPLICATION_NDJSON_VALUE) ? NDJSON : CSV;
+        }
+    }
+
+    private final TaskService service;
+    private final TaskBulkService bulkService;
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper csvMapper;
+    private final ObjectReader jsonReader;
+    private final ObjectReader csvReader;
+    private final Map<Format, AtomicLong> exported = new EnumMap<>(Format.class);
+    private final Map<Format, AtomicLong> imported = new EnumMap<>(Format.class);
+
+    public TaskTransferService(TaskService service,
+                               TaskBulkService bulkService,
+                               ObjectMapper objectMapper,
+                               Jackson2ObjectMapperBuilder builder) {
+        this.service = service;
+        this.bulkService = bulkService;
+        this.jsonMapper = objectMapper;
+        this.csvMapper = WireFormatConfig.csvMapper(builder);
+        this.jsonReader = objectMapper.readerFor(Task.class);
+        this.csvReader = csvMapper.readerFor(Task.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .with(CsvParser.Feature.EMPTY_STRING_AS_NULL);
+        for (Format format : Format.values()) {
+            exported.put(format, new AtomicLong());
+            imported.put(format, new AtomicLong());
+        }
+    }
+
+    /** Writes every task matching {@code completed} to {@code out}; returns how many. */
+    public long export(Boolean completed, Format format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        AtomicLong rows = exported.get(format);
+        long[] count = {0};
+        try (JsonGenerator generator = (format == Format.CSV ? csvMapper : jsonMapper).createGenerator(out)) {
+            if (format == Format.CSV) {
+                generator.setSchema(CSV_COLUMNS);
+            } else {
+                generator.setRootValueSeparator(null);
+            }
+            service.stream(completed, task -> {
+                try {
+                    generator.writeObject(task);
+                    if (format == Format.NDJSON) {
+                        generator.writeRaw('\n');
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                count[0]++;
+                rows.incrementAndGet();
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        log.info("Exported {} tasks as {} at {} rows/s", count[0], format,
+                TaskImportResult.rowsPerSecond(count[0], System.nanoTime() - start));
+        return count[0];
+    }
+
+    /**
+     * Imports CSV with a header row naming its columns, or NDJSON. Unknown columns, and the
+     * server-assigned id, version and updatedAt, are ignored.
+     */
+    public TaskImportResult importTasks(Format format, InputStream body) throws IOException {
+        ObjectReader reader = format == Format.CSV ? csvReader : jsonReader;
+        try (MappingIterator<Task> items = reader.readValues(body)) {
+            return bulkService.importTasks(items, imported.get(format)::addAndGet);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Format format : Format.values()) {
+            String name = format.name().toLowerCase(Locale.ROOT);
+            FunctionCounter.builder("tasklist.transfer.rows", exported.get(format), AtomicLong::get)
+                    .description("Rows written by exports and committed by imports")
+                    .tags("direction", "export", "format", name)
+                    .register(registry);
+            FunctionCounter.builder("tasklist.transfer.rows", imported.get(format), AtomicLong::get)
+                    .description("Rows written by exports and committed by imports")
+                    .tags("direction", "import", "format", name)
+                    .register(registry);
+        }
+    }
+}
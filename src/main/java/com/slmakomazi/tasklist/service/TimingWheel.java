@@ -0,0 +1,103 @@
+package com.slmakomazi.tasklist.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: holds items until their deadline at {@code tick} precision,
+ * in O(1) per item rather than a sorted queue.
+ * <p>
+ * Level 0 has one bucket per tick; each level above has buckets {@code size} times wider.
+ * An item goes to the lowest level whose window reaches its deadline, and moves down a
+ * level whenever the clock enters its bucket, until it fires from level 0. Deadlines are
+ * epoch milliseconds. Not thread-safe.
+ */
+final class TimingWheel<T> {
+
+    private record Entry<T>(long tick, T item) {
+    }
+
+    private final long tickMillis;
+    private final int size;
+    private final List<List<List<Entry<T>>>> levels = new ArrayList<>();
+    /** The last tick advanced to; items due by the end of it have fired. */
+    private long current;
+    private int count;
+
+    TimingWheel(long tickMillis, int size, long nowMillis) {
+        if (tickMillis < 1 || size < 2) {
+            throw new IllegalArgumentException("Timing wheel needs a tick of at least 1ms and 2 buckets per level");
+        }
+        this.tickMillis = tickMillis;
+        this.size = size;
+        this.current = Math.floorDiv(nowMillis, tickMillis);
+    }
+
+    /** Holds {@code item} until {@code deadlineMillis}; false if that has already passed. */
+    boolean schedule(long deadlineMillis, T item) {
+        long tick = Math.ceilDiv(deadlineMillis, tickMillis);
+        if (tick <= current) {
+            return false;
+        }
+        place(new Entry<>(tick, item));
+        count++;
+        return true;
+    }
+
+    /** Moves the clock to {@code nowMillis}, handing every item that came due to {@code fire}. */
+    void advance(long nowMillis, Consumer<T> fire) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        while (current < target && count > 0) {
+            current++;
+            // Highest level first, so items cascading several levels land where they belong
+            long width = 1;
+            for (int level = 1; level < levels.size(); level++) {
+                width *= size;
+            }
+            for (int level = levels.size() - 1; level >= 1; level--) {
+                if (current % width == 0) {
+                    List<Entry<T>> bucket = bucket(level, current / width);
+                    List<Entry<T>> moving = new ArrayList<>(bucket);
+                    bucket.clear();
+                    moving.forEach(this::place);
+                }
+                width /= size;
+            }
+            List<Entry<T>> due = bucket(0, current);
+            for (Entry<T> entry : due) {
+                fire.accept(entry.item());
+            }
+            count -= due.size();
+            due.clear();
+        }
+        // Nothing scheduled: skip the idle ticks outright
+        current = Math.max(current, target);
+    }
+
+    int size() {
+        return count;
+    }
+
+    private void place(Entry<T> entry) {
+        long width = 1;
+        for (int level = 0; ; level++) {
+            if (entry.tick() / width - current / width < size) {
+                bucket(level, entry.tick() / width).add(entry);
+                return;
+            }
+            width *= size;
+        }
+    }
+
+    private List<Entry<T>> bucket(int level, long slot) {
+        while (levels.size() <= level) {
+            List<List<Entry<T>>> buckets = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                buckets.add(new ArrayList<>());
+            }
+            levels.add(buckets);
+        }
+        return levels.get(level).get((int) Math.floorMod(slot, (long) size));
+    }
+}
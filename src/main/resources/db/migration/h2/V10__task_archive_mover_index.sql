@@ -0,0 +1,3 @@
+-- H2 twin of postgresql/V10. H2 has no partial indexes; (completed, updated_at) serves
+-- the mover's query instead.
+CREATE INDEX idx_tasks_completed_updated_at ON tasks (completed, updated_at);
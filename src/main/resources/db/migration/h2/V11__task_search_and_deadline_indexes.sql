@@ -0,0 +1,3 @@
+-- H2 twin of postgresql/V11. H2 has no tsvector, so only the claim query gets an index,
+-- and no partial indexes; (deadline_state, due_date) serves it instead.
+CREATE INDEX idx_tasks_pending_deadlines ON tasks (deadline_state, due_date);
@@ -0,0 +1,7 @@
+-- H2 twin of postgresql/V1, used by the test profile.
+CREATE TABLE tasks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    description VARCHAR(255)                NOT NULL,
+    due_date    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    completed   BOOLEAN                     NOT NULL
+);
@@ -0,0 +1,4 @@
+-- H2 twin of postgresql/V2. H2 has no partial indexes; the composite
+-- (completed, due_date, id) index serves the open-task lookups instead.
+CREATE INDEX idx_tasks_completed_due_date_id ON tasks (completed, due_date, id);
+CREATE INDEX idx_tasks_due_date_id ON tasks (due_date, id);
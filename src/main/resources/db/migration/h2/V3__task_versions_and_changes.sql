@@ -0,0 +1,10 @@
+-- H2 twin of postgresql/V3.
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE TABLE task_changes (
+    id         SMALLINT PRIMARY KEY CHECK (id = 1),
+    version    BIGINT                      NOT NULL,
+    changed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+INSERT INTO task_changes (id, version, changed_at) VALUES (1, 0, CURRENT_TIMESTAMP);
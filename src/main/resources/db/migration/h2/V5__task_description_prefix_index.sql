@@ -0,0 +1,2 @@
+-- H2 twin of postgresql/V5. H2 has no operator classes; a plain index serves LIKE 'prefix%'.
+CREATE INDEX idx_tasks_description_prefix ON tasks (description);
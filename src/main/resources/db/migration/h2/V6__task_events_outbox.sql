@@ -0,0 +1,16 @@
+-- H2 twin of postgresql/V6. H2 has no partial indexes; the unique index on position
+-- also serves the relay's position IS NULL lookup.
+CREATE TABLE task_events (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    task_id     BIGINT                      NOT NULL,
+    type        VARCHAR(16)                 NOT NULL,
+    occurred_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    position    BIGINT UNIQUE
+);
+
+CREATE TABLE task_event_relay (
+    id             SMALLINT PRIMARY KEY CHECK (id = 1),
+    last_position  BIGINT NOT NULL,
+    purged_through BIGINT NOT NULL
+);
+INSERT INTO task_event_relay (id, last_position, purged_through) VALUES (1, 0, 0);
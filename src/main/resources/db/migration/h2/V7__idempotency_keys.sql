@@ -0,0 +1,8 @@
+-- H2 twin of postgresql/V7.
+CREATE TABLE idempotency_keys (
+    id          VARCHAR(300)                PRIMARY KEY,
+    fingerprint VARCHAR(64),
+    response    CLOB,
+    claimed_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+CREATE INDEX idx_idempotency_keys_claimed_at ON idempotency_keys (claimed_at);
@@ -0,0 +1,5 @@
+-- H2 twin of postgresql/V8.
+ALTER TABLE tasks ADD COLUMN deadline_state SMALLINT DEFAULT 0 NOT NULL;
+ALTER TABLE tasks ADD COLUMN deadline_claimed_until TIMESTAMP(6) WITH TIME ZONE;
+
+UPDATE tasks SET deadline_state = 2 WHERE due_date < CURRENT_TIMESTAMP;
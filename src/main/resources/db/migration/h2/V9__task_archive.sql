@@ -0,0 +1,10 @@
+-- H2 twin of postgresql/V9.
+CREATE TABLE tasks_archive (
+    id          BIGINT                      PRIMARY KEY,
+    description VARCHAR(255)                NOT NULL,
+    due_date    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    version     BIGINT                      NOT NULL,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    archived_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+CREATE INDEX idx_tasks_archive_due_date_id ON tasks_archive (due_date, id);
@@ -0,0 +1,4 @@
+-- The archive mover's next batch: completed tasks, oldest change first. On its own so
+-- it can be built CONCURRENTLY, as in V2: Flyway runs this script outside a transaction,
+-- and would refuse to mix it with V9's transactional statements.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_completed_updated_at ON tasks (updated_at) WHERE completed = true;
@@ -0,0 +1,9 @@
+-- The indexes V4 and V8 need, built CONCURRENTLY as in V2 so they do not block writes to
+-- tasks, and outside a transaction.
+
+-- Full-text search over descriptions (GET /api/tasks/search)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_description_tsv ON tasks USING GIN (description_tsv);
+
+-- Only deadlines still to fire: stays small however many tasks are overdue or done
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_pending_deadlines ON tasks (due_date)
+    WHERE completed = false AND deadline_state < 2;
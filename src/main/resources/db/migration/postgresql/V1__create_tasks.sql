@@ -0,0 +1,8 @@
+-- Schema previously created by hibernate ddl-auto=update. Existing databases are
+-- baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this script.
+CREATE TABLE IF NOT EXISTS tasks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    description VARCHAR(255)                NOT NULL,
+    due_date    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    completed   BOOLEAN                     NOT NULL
+);
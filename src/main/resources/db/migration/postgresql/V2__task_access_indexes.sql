@@ -0,0 +1,13 @@
+-- Built CONCURRENTLY, so deploying onto a populated tasks table does not block writes
+-- while the index builds. Flyway sees that and runs this script outside a transaction.
+-- A build that is interrupted leaves an INVALID index that IF NOT EXISTS would then skip:
+-- drop it and migrate again.
+
+-- Open tasks by due date: the dashboard "what is due" view and dueBefore completion.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_open_due_date ON tasks (due_date) WHERE completed = false;
+
+-- Keyset pages filtered by completed, ordered by (due_date, id).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_completed_due_date_id ON tasks (completed, due_date, id);
+
+-- Unfiltered keyset pages and streaming, ordered by (due_date, id).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_due_date_id ON tasks (due_date, id);
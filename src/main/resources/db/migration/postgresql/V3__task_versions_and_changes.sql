@@ -0,0 +1,13 @@
+-- Per-row optimistic version and modification time for ETag / Last-Modified.
+-- Constant defaults let PostgreSQL 11+ add both columns without rewriting the table.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- Single-row change counter for the whole table, bumped after every committed write.
+-- GET /api/tasks answers If-None-Match from it with one primary-key read.
+CREATE TABLE IF NOT EXISTS task_changes (
+    id         SMALLINT PRIMARY KEY CHECK (id = 1),
+    version    BIGINT                      NOT NULL,
+    changed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+INSERT INTO task_changes (id, version, changed_at) VALUES (1, 0, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING;
@@ -0,0 +1,5 @@
+-- Full-text search over descriptions (GET /api/tasks/search). The generated column keeps
+-- the tsvector in step with description on every write; adding it rewrites the table once.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS description_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', description)) STORED;
+-- Its GIN index is built CONCURRENTLY in V11.
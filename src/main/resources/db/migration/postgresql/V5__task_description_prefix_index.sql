@@ -0,0 +1,4 @@
+-- Description prefix filter (GET /api/tasks?descriptionPrefix=). text_pattern_ops lets
+-- LIKE 'prefix%' use the index whatever the database collation. Built CONCURRENTLY, as
+-- in V2, outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_description_prefix ON tasks (description text_pattern_ops);
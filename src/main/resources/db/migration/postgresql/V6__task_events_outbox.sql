@@ -0,0 +1,21 @@
+-- Outbox of task mutations, written in the same transaction as the change itself.
+-- The relay numbers published events with a gap-free position in commit order; the
+-- position is what GET /api/tasks/changes?since= pages on.
+CREATE TABLE IF NOT EXISTS task_events (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    task_id     BIGINT                      NOT NULL,
+    type        VARCHAR(16)                 NOT NULL,
+    occurred_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    position    BIGINT UNIQUE
+);
+-- Only the relay's backlog: stays tiny however many events have been published
+CREATE INDEX IF NOT EXISTS idx_task_events_unpublished ON task_events (id) WHERE position IS NULL;
+
+-- Single-row relay state. Relays lock it while numbering a batch, so positions commit
+-- in order even with several nodes; purged_through marks positions no longer served.
+CREATE TABLE IF NOT EXISTS task_event_relay (
+    id             SMALLINT PRIMARY KEY CHECK (id = 1),
+    last_position  BIGINT NOT NULL,
+    purged_through BIGINT NOT NULL
+);
+INSERT INTO task_event_relay (id, last_position, purged_through) VALUES (1, 0, 0) ON CONFLICT DO NOTHING;
@@ -0,0 +1,11 @@
+-- Responses of POST /api/tasks and /api/tasks/bulk by Idempotency-Key, kept when
+-- tasklist.idempotency.store=jdbc so retries on any node replay the first response.
+-- A row without a response is claimed by a request still running; claimed_at lets a
+-- claim abandoned by a crashed node be taken over and expired rows be purged.
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id          VARCHAR(300)                PRIMARY KEY,
+    fingerprint VARCHAR(64),
+    response    TEXT,
+    claimed_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_claimed_at ON idempotency_keys (claimed_at);
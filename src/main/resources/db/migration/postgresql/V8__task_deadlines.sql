@@ -0,0 +1,10 @@
+-- Due-date reminders. deadline_state is how far a task's deadline has been announced
+-- (0 nothing yet, 1 DUE_SOON, 2 OVERDUE); a node that claims a task to fire its next
+-- event holds it until deadline_claimed_until, after which another node may take over.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS deadline_state SMALLINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS deadline_claimed_until TIMESTAMP(6) WITH TIME ZONE;
+
+-- Tasks that were already past due are not announced after the fact
+UPDATE tasks SET deadline_state = 2 WHERE due_date < now();
+
+-- The claim query's partial index is built CONCURRENTLY in V11.
@@ -0,0 +1,11 @@
+-- Completed tasks moved out of tasks once tasklist.archive.retention has passed since
+-- their last change. Rows keep their id and version and are never updated again.
+CREATE TABLE IF NOT EXISTS tasks_archive (
+    id          BIGINT                      PRIMARY KEY,
+    description VARCHAR(255)                NOT NULL,
+    due_date    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    version     BIGINT                      NOT NULL,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    archived_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_tasks_archive_due_date_id ON tasks_archive (due_date, id);
@@ -0,0 +1,71 @@
+package com.slmakomazi.tasklist.benchmark;
+
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskRepository;
+import com.slmakomazi.tasklist.service.BulkInsertResult;
+import com.slmakomazi.tasklist.service.TaskBulkService;
+import com.slmakomazi.tasklist.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput of POST /api/tasks/bulk versus one {@link TaskService#create} per task.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class BulkInsertBenchmarkTest {
+
+    private static final int TASKS = 20_000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskBulkService bulkService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void compareBulkWithSingleInserts() throws Exception {
+        OffsetDateTime due = OffsetDateTime.now().plusDays(1);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TASKS; i++) {
+            taskService.create(new Task("single " + i, due));
+        }
+        double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < TASKS; i++) {
+            ndjson.append("{\"description\":\"bulk ").append(i).append("\",\"dueDate\":\"").append(due).append("\"}\n");
+        }
+        byte[] body = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+
+        start = System.nanoTime();
+        BulkInsertResult result = bulkService.ingest(new ByteArrayInputStream(body));
+        double bulkSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(TASKS, result.accepted());
+        assertEquals(2L * TASKS, taskRepository.count());
+        System.out.printf("single-insert: %,.0f tasks/s%n", TASKS / singleSeconds);
+        System.out.printf("bulk-insert:   %,.0f tasks/s (%.1fx)%n", TASKS / bulkSeconds, singleSeconds / bulkSeconds);
+    }
+}
@@ -0,0 +1,185 @@
+package com.slmakomazi.tasklist.benchmark;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the packaged application against PostgreSQL the ways it can be shipped: the
+ * fat jar, the unpacked jar with an AppCDS archive, the same with AOT (when the jar was
+ * built with {@code -Paot}), and the native image (when {@code target/tasklist-api}
+ * exists). Prints, per mode, the median time from process start until
+ * {@code /actuator/health} answers, and the resident memory at that point.
+ * <p>
+ * Needs the jar and Docker: {@code mvn -Paot package -DskipTests && mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class StartupComparisonTest {
+
+    private static final Path TARGET = Path.of("target");
+    private static final Path JAR = TARGET.resolve("tasklist-api-0.0.1-SNAPSHOT.jar");
+    private static final Path NATIVE = TARGET.resolve("tasklist-api");
+    private static final Path WORK = TARGET.resolve("startup");
+    private static final int RUNS = 3;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void compareStartupModes() throws Exception {
+        Assumptions.assumeTrue(Files.exists(JAR), "Package the application first: mvn -Paot package -DskipTests");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Path application = prepareCds(java);
+
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("fat jar", List.of(java, "-jar", JAR.toAbsolutePath().toString()), null));
+        modes.add(new Mode("unpacked + CDS", List.of(java, "-XX:SharedArchiveFile=app.jsa", "-jar", "app.jar"), application));
+        if (hasAotCode()) {
+            modes.add(new Mode("unpacked + CDS + AOT", List.of(java, "-XX:SharedArchiveFile=app.jsa",
+                    "-Dspring.aot.enabled=true", "-jar", "app.jar"), application));
+        }
+        if (Files.isExecutable(NATIVE)) {
+            modes.add(new Mode("native image", List.of(NATIVE.toAbsolutePath().toString()), null));
+        }
+
+        // Runs the migrations, so no measured start pays for them
+        start(modes.get(0)).close();
+
+        List<String> report = new ArrayList<>();
+        for (Mode mode : modes) {
+            List<Started> runs = new ArrayList<>();
+            for (int i = 0; i < RUNS; i++) {
+                try (Started started = start(mode)) {
+                    runs.add(started);
+                }
+            }
+            runs.sort((a, b) -> Long.compare(a.millis(), b.millis()));
+            Started median = runs.get(RUNS / 2);
+            report.add(String.format("%-22s ready in %5d ms, RSS %4d MB", mode.name(), median.millis(), median.rssMb()));
+        }
+        report.forEach(System.out::println);
+        assertEquals(modes.size(), report.size());
+    }
+
+    /** Unpacks the jar and records the CDS archive the way the Dockerfile does. */
+    private Path prepareCds(String java) throws IOException, InterruptedException {
+        Path application = WORK.resolve("application");
+        Path archive = application.resolve("app.jsa");
+        if (Files.exists(archive) && Files.getLastModifiedTime(archive).compareTo(Files.getLastModifiedTime(JAR)) > 0) {
+            return application;
+        }
+        Files.createDirectories(WORK);
+        Files.deleteIfExists(archive);
+        run(WORK, List.of(java, "-Djarmode=tools", "-jar", JAR.toAbsolutePath().toString(),
+                "extract", "--force", "--destination", "application", "--application-filename", "app.jar"));
+        run(application, List.of(java, "-XX:ArchiveClassesAtExit=app.jsa", "-Dspring.context.exit=onRefresh",
+                "-jar", "app.jar",
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false",
+                "--logging.file.name=" + WORK.toAbsolutePath().resolve("training.log")));
+        return application;
+    }
+
+    private Started start(Mode mode) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = new ArrayList<>(mode.command());
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--logging.file.name=" + WORK.toAbsolutePath().resolve("startup.log")));
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        if (mode.directory() != null) {
+            builder.directory(mode.directory().toFile());
+        }
+        long start = System.nanoTime();
+        Process process = builder.start();
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health")).build();
+        while (true) {
+            if (!process.isAlive()) {
+                fail(mode.name() + " exited with " + process.exitValue() + ", see " + WORK.resolve("startup.log"));
+            }
+            try {
+                if (http.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    break;
+                }
+            } catch (IOException notListening) {
+                // Not up yet
+            }
+            if (System.nanoTime() - start > 120_000_000_000L) {
+                process.destroyForcibly();
+                fail(mode.name() + " did not become ready within 2 minutes");
+            }
+            Thread.sleep(20);
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new Started(process, millis, rssMb(process.pid()));
+    }
+
+    private static boolean hasAotCode() throws IOException {
+        try (ZipFile jar = new ZipFile(JAR.toFile())) {
+            return jar.getEntry("BOOT-INF/classes/com/slmakomazi/tasklist/TasklistApiApplication__ApplicationContextInitializer.class") != null;
+        }
+    }
+
+    /** Resident set size from /proc, or -1 where there is none. */
+    private static long rssMb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> Long.parseLong(line.replaceAll("\\D", "")) / 1024)
+                .findFirst()
+                .orElse(-1L);
+    }
+
+    private static void run(Path directory, List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(new File(WORK.toFile(), "prepare.log"))
+                .start();
+        assertEquals(0, process.waitFor(), () -> String.join(" ", command) + " failed, see " + WORK.resolve("prepare.log"));
+    }
+
+    private record Mode(String name, List<String> command, Path directory) {
+    }
+
+    private record Started(Process process, long millis, long rssMb) implements AutoCloseable {
+        @Override
+        public void close() throws InterruptedException {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+}
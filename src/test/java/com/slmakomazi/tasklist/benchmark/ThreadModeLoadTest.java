@@ -0,0 +1,138 @@
+package com.slmakomazi.tasklist.benchmark;
+
+import com.slmakomazi.tasklist.TasklistApiApplication;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the same burst of blocking requests (task creation, which waits on the Hikari
+ * pool) at the API in platform-thread and virtual-thread mode, and prints throughput,
+ * p50/p99 latency and the peak number of requests the server was handling at once.
+ * Tomcat is capped at a small pool so saturation shows up at test scale.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ThreadModeLoadTest {
+
+    private static final int REQUESTS = 2000;
+    private static final int CONCURRENCY = 400;
+    private static final String BODY = "{\"description\":\"load\",\"dueDate\":\"2030-01-01T10:00:00Z\"}";
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        // Errors are part of the comparison (refused or reset connections once Tomcat's
+        // queue overflows), so they are reported rather than asserted.
+        System.out.println(platform);
+        System.out.println(virtual);
+        assertEquals(REQUESTS, platform.completed());
+        assertEquals(REQUESTS, virtual.completed());
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                TasklistApiApplication.class, InFlightFilter.class).run(
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=32",
+                "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=warn",
+                "--logging.level.com.slmakomazi.tasklist=warn")) {
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/tasks");
+            InFlightFilter filter = context.getBean(InFlightFilter.class);
+            return fire(mode, uri, filter);
+        }
+    }
+
+    private Result fire(String mode, URI uri, InFlightFilter filter) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(REQUESTS));
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore permits = new Semaphore(CONCURRENCY);
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clients).connectTimeout(Duration.ofSeconds(30)).build()) {
+            for (int i = 0; i < REQUESTS; i++) {
+                permits.acquire();
+                clients.submit(() -> {
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(HttpRequest.newBuilder(uri)
+                                        .header("Content-Type", "application/json")
+                                        .POST(HttpRequest.BodyPublishers.ofString(BODY)).build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 201) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception ex) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies.add(System.nanoTime() - sent);
+                        permits.release();
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Result(mode, sorted.size(), REQUESTS / seconds,
+                sorted.get(sorted.size() / 2) / 1e6,
+                sorted.get((int) (sorted.size() * 0.99)) / 1e6,
+                filter.peak.get(), errors.get());
+    }
+
+    record Result(String mode, int completed, double requestsPerSecond, double p50Millis, double p99Millis, int peakInFlight, int errors) {
+        @Override
+        public String toString() {
+            return String.format("%-8s %,8.0f req/s  p50 %7.1f ms  p99 %7.1f ms  peak in-flight %4d  errors %d",
+                    mode, requestsPerSecond, p50Millis, p99Millis, peakInFlight, errors);
+        }
+    }
+
+    /** Counts requests the server is handling at the same time. */
+    static class InFlightFilter extends OncePerRequestFilter {
+        private final AtomicInteger current = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.slmakomazi.tasklist.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void testTryAcquire_RejectsOverTheLimitAtOnce() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 2, 1, 10, 1.5, now::get);
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        assertNotNull(limiter.tryAcquire());
+
+        // When / Then
+        assertNull(limiter.tryAcquire());
+        first.release();
+        first.release();
+        assertEquals(1, limiter.getInFlight());
+        assertNotNull(limiter.tryAcquire());
+    }
+
+    @Test
+    void testLimit_GrowsWhileLatencyHoldsAndShrinksWhenRequestsQueue() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 10, 2, 100, 1.5, now::get);
+
+        // When - full batches that take 10ms each
+        runBatches(limiter, 50, 10);
+        int grown = limiter.getLimit();
+
+        // Then
+        assertTrue(grown > 10, "limit " + grown);
+
+        // When - the same load now waits for connections, at 5x the latency
+        runBatches(limiter, 20, 50);
+
+        // Then
+        assertTrue(limiter.getLimit() < grown / 2, "limit " + limiter.getLimit() + " after " + grown);
+    }
+
+    @Test
+    void testLimit_LightLoadLeavesItAlone() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 20, 2, 100, 1.5, now::get);
+
+        // When - one request at a time, getting slower
+        for (int i = 1; i <= 100; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+            now.addAndGet(i * 1_000_000L);
+            permit.release();
+        }
+
+        // Then
+        assertEquals(20, limiter.getLimit());
+    }
+
+    /** Fills the limit, lets every request take {@code millis}, and releases them. */
+    private void runBatches(AdaptiveConcurrencyLimiter limiter, int batches, long millis) {
+        for (int b = 0; b < batches; b++) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            AdaptiveConcurrencyLimiter.Permit permit;
+            while ((permit = limiter.tryAcquire()) != null) {
+                permits.add(permit);
+            }
+            now.addAndGet(millis * 1_000_000L);
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+        }
+    }
+}
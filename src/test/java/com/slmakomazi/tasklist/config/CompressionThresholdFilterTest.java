@@ -0,0 +1,69 @@
+package com.slmakomazi.tasklist.config;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressionThresholdFilterTest {
+
+    private final CompressionThresholdFilter filter = new CompressionThresholdFilter(DataSize.ofKilobytes(2));
+
+    @Test
+    void testSmallResponse_SentWholeWithItsLength() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), response,
+                (req, res) -> res.getOutputStream().write(bytes("[]")));
+
+        // Then
+        assertEquals("[]", response.getContentAsString());
+        assertEquals(2, response.getContentLength());
+    }
+
+    @Test
+    void testFailedHandler_OriginalExceptionAndNoHeldBytes() {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        IOException failure = new IOException("boom");
+
+        // When
+        IOException thrown = assertThrows(IOException.class, () ->
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), response, (req, res) -> {
+                    res.getOutputStream().write(bytes("[{\"id\":1"));
+                    throw failure;
+                }));
+
+        // Then
+        assertSame(failure, thrown);
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testSendError_DropsTheHeldBody() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), response, (req, res) -> {
+            res.getOutputStream().write(bytes("[{\"id\":1"));
+            ((HttpServletResponse) res).sendError(500);
+        });
+
+        // Then
+        assertEquals(500, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,78 @@
+package com.slmakomazi.tasklist.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountingAsyncAppenderTest {
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final Logger logger = context.getLogger("test");
+    private final CountDownLatch release = new CountDownLatch(1);
+    private CountingAsyncAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        // A downstream appender that stalls, so the queue fills up
+        AppenderBase<ILoggingEvent> stalled = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        stalled.setContext(context);
+        stalled.start();
+
+        appender = new CountingAsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(10);
+        appender.setDiscardingThreshold(5);
+        appender.setNeverBlock(true);
+        appender.addAppender(stalled);
+        appender.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    void testAppend_CountsDiscardedAndRejectedEventsWithoutBlocking() {
+        // Given
+        long discardedBefore = CountingAsyncAppender.discarded();
+        long rejectedBefore = CountingAsyncAppender.rejected();
+
+        // When - far more events than the queue holds; none of these calls may block
+        for (int i = 0; i < 50; i++) {
+            appender.doAppend(event(Level.INFO));
+        }
+        for (int i = 0; i < 50; i++) {
+            appender.doAppend(event(Level.ERROR));
+        }
+
+        // Then
+        assertTrue(CountingAsyncAppender.discarded() - discardedBefore > 0);
+        assertTrue(CountingAsyncAppender.rejected() - rejectedBefore > 0);
+    }
+
+    private ILoggingEvent event(Level level) {
+        return new LoggingEvent(CountingAsyncAppenderTest.class.getName(), logger, level, "message {}", null, new Object[]{1});
+    }
+}
@@ -0,0 +1,141 @@
+package com.slmakomazi.tasklist.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadSheddingFilterTest {
+
+    // One request per client, refilled once a minute
+    private final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(true, 1, 1 / 60.0, 100);
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(true, 1, 1, 1, 1.5);
+
+    @Test
+    void testServletFilter_Sends429PerClientAnd503OverTheLimit() throws Exception {
+        // Given
+        LoadSheddingFilter filter = new LoadSheddingFilter(rateLimiter, concurrencyLimiter, "X-API-Key");
+        assertEquals(200, servlet(filter, "tenant-a").getStatus());
+
+        // When
+        MockHttpServletResponse shed = servlet(filter, "tenant-a");
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), shed.getStatus());
+        assertEquals("60", shed.getHeader("Retry-After"));
+        AdaptiveConcurrencyLimiter.Permit held = concurrencyLimiter.tryAcquire();
+        MockHttpServletResponse busy = servlet(filter, "tenant-b");
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), busy.getStatus());
+        assertEquals("1", busy.getHeader("Retry-After"));
+        held.release();
+        assertEquals(0, concurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    void testReactiveFilter_Sends429AndReleasesPermits() {
+        // Given
+        ReactiveLoadSheddingFilter filter = new ReactiveLoadSheddingFilter(rateLimiter, concurrencyLimiter, "X-API-Key");
+        AtomicInteger handled = new AtomicInteger();
+        assertNull(reactive(filter, "/api/tasks", handled).getResponse().getStatusCode());
+
+        // When
+        MockServerWebExchange shed = reactive(filter, "/api/tasks", handled);
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, shed.getResponse().getStatusCode());
+        assertEquals("60", shed.getResponse().getHeaders().getFirst("Retry-After"));
+        assertEquals(1, handled.get());
+        assertEquals(0, concurrencyLimiter.getInFlight());
+        // Other paths are not limited
+        reactive(filter, "/actuator/health", handled);
+        assertEquals(2, handled.get());
+    }
+
+    @Test
+    void testLongPolls_HoldNoPermitAndLeaveTheLimitAlone() throws Exception {
+        // Given - a limit grown on millisecond requests
+        AtomicLong clock = new AtomicLong();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 2, 1, 200, 1.5, clock::get);
+        LoadSheddingFilter filter = new LoadSheddingFilter(new TokenBucketRateLimiter(false, 1, 1, 100), limiter, "X-API-Key");
+        for (int i = 0; i < 20; i++) {
+            timed(filter, limiter, "/api/tasks/changes", "wait", "0", clock, TimeUnit.MILLISECONDS.toNanos(1), 1);
+        }
+        int limit = limiter.getLimit();
+
+        // When - followers waiting out 25s long polls
+        for (int i = 0; i < 20; i++) {
+            timed(filter, limiter, "/api/tasks/changes", "wait", "25", clock, TimeUnit.SECONDS.toNanos(25), 0);
+        }
+
+        // Then
+        assertEquals(limit, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testFullTableStreams_HoldNoPermitAndLeaveTheLimitAlone() throws Exception {
+        // Given - a limit grown on millisecond list pages
+        AtomicLong clock = new AtomicLong();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 2, 1, 200, 1.5, clock::get);
+        LoadSheddingFilter filter = new LoadSheddingFilter(new TokenBucketRateLimiter(false, 1, 1, 100), limiter, "X-API-Key");
+        for (int i = 0; i < 20; i++) {
+            timed(filter, limiter, "/api/tasks", "stream", "false", clock, TimeUnit.MILLISECONDS.toNanos(1), 1);
+        }
+        int limit = limiter.getLimit();
+
+        // When - minute-long ?stream=true downloads
+        for (int i = 0; i < 20; i++) {
+            timed(filter, limiter, "/api/tasks", "stream", "true", clock, TimeUnit.MINUTES.toNanos(1), 0);
+        }
+
+        // Then
+        assertEquals(limit, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+        // The reactive filter lets one through while the only permit is held
+        ReactiveLoadSheddingFilter reactiveFilter = new ReactiveLoadSheddingFilter(
+                new TokenBucketRateLimiter(false, 1, 1, 100), concurrencyLimiter, "X-API-Key");
+        AdaptiveConcurrencyLimiter.Permit held = concurrencyLimiter.tryAcquire();
+        AtomicInteger handled = new AtomicInteger();
+        assertNull(reactive(reactiveFilter, "/api/tasks?stream=true", handled).getResponse().getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                reactive(reactiveFilter, "/api/tasks", handled).getResponse().getStatusCode());
+        assertEquals(1, handled.get());
+        held.release();
+    }
+
+    /** Runs a GET with one query parameter that takes {@code nanos}, checking how many permits are held meanwhile. */
+    private static void timed(LoadSheddingFilter filter, AdaptiveConcurrencyLimiter limiter, String path,
+                              String parameter, String value, AtomicLong clock, long nanos, int expectedInFlight) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setParameter(parameter, value);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            assertEquals(expectedInFlight, limiter.getInFlight());
+            clock.addAndGet(nanos);
+        });
+    }
+
+    private static MockHttpServletResponse servlet(LoadSheddingFilter filter, String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("X-API-Key", apiKey);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockServerWebExchange reactive(ReactiveLoadSheddingFilter filter, String path, AtomicInteger handled) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get(path).header("X-API-Key", "tenant-a"));
+        filter.filter(exchange, ex -> Mono.fromRunnable(handled::incrementAndGet)).block();
+        return exchange;
+    }
+}
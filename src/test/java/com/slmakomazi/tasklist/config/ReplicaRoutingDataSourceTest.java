@@ -0,0 +1,92 @@
+package com.slmakomazi.tasklist.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T10:00:00Z");
+
+    private final DataSource primary = database("routing_primary");
+    private final DataSource replica = database("routing_replica");
+
+    @BeforeEach
+    void setUp() {
+        new JdbcTemplate(primary).execute("create table if not exists origin as select 'primary' as name");
+        new JdbcTemplate(replica).execute("create table if not exists origin as select 'replica' as name");
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseHealthyReplica() {
+        // Given
+        ReplicaRoutingDataSource routing = routing(List.of(replica));
+        routing.checkReplicas();
+
+        // When / Then
+        assertEquals("replica", origin(routing, true));
+        assertEquals("primary", origin(routing, false));
+    }
+
+    @Test
+    void testRecentWriteKeepsReadsOnPrimary() {
+        // Given
+        ReplicaRoutingDataSource routing = routing(List.of(replica));
+        routing.checkReplicas();
+
+        // When
+        routing.noteChange(NOW.minusMillis(500));
+
+        // Then
+        assertEquals("primary", origin(routing, true));
+        routing.noteChange(NOW.minusSeconds(5)); // older changes never move the mark back
+        assertEquals("primary", origin(routing, true));
+    }
+
+    @Test
+    void testUnreachableReplicaFailsOverToPrimary() {
+        // Given - IFEXISTS makes H2 refuse to create the missing database
+        ReplicaRoutingDataSource routing = routing(List.of(database("missing;IFEXISTS=TRUE"), replica));
+
+        // When
+        routing.checkReplicas();
+
+        // Then
+        assertEquals(1, routing.healthyReplicas());
+        assertEquals("replica", origin(routing, true));
+        assertEquals("replica", origin(routing, true));
+    }
+
+    @Test
+    void testReplicasStayOutUntilChecked() {
+        assertEquals("primary", origin(routing(List.of(replica)), true));
+    }
+
+    private ReplicaRoutingDataSource routing(List<DataSource> replicas) {
+        return new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(1), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static String origin(ReplicaRoutingDataSource routing, boolean readOnly) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> new JdbcTemplate(dataSource).queryForObject("select name from origin", String.class));
+    }
+
+    private static DataSource database(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
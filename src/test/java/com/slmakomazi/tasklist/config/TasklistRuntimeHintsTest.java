@@ -0,0 +1,30 @@
+package com.slmakomazi.tasklist.config;
+
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TasklistRuntimeHintsTest {
+
+    @Test
+    void testRegisterHints_CoversTaskBindingAndMigrations() throws NoSuchMethodException {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+
+        // When
+        new TasklistRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Task.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Task.class.getDeclaredMethod("touch")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Task.class.getMethod("getDueDate")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TaskEvent.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/postgresql/V1__create_tasks.sql").test(hints));
+    }
+}
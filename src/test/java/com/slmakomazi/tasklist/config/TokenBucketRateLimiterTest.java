@@ -0,0 +1,44 @@
+package com.slmakomazi.tasklist.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void testTryAcquire_BurstsUpToCapacityThenRefills() {
+        // Given - 3 tokens, refilled at 2 per second
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(true, 3, 2, 100, now::get);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Duration.ZERO, limiter.tryAcquire("tenant-a"));
+        }
+
+        // When
+        Duration wait = limiter.tryAcquire("tenant-a");
+
+        // Then
+        assertEquals(Duration.ofMillis(500), wait);
+        assertEquals(Duration.ZERO, limiter.tryAcquire("tenant-b"));
+        now.addAndGet(Duration.ofMillis(500).toNanos());
+        assertEquals(Duration.ZERO, limiter.tryAcquire("tenant-a"));
+        assertFalse(limiter.tryAcquire("tenant-a").isZero());
+    }
+
+    @Test
+    void testTryAcquire_DisabledNeverWaits() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(false, 1, 1, 100, now::get);
+
+        // When / Then
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Duration.ZERO, limiter.tryAcquire("tenant-a"));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(true, 0, 1, 100));
+    }
+}
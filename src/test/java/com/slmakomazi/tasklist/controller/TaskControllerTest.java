@@ -2,25 +2,61 @@ package com.slmakomazi.tasklist.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskChanges;
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import com.slmakomazi.tasklist.repository.TaskFilter;
+import com.slmakomazi.tasklist.service.BulkCompleteResult;
+import com.slmakomazi.tasklist.service.BulkInsertResult;
+import com.slmakomazi.tasklist.service.IdempotencyService;
+import com.slmakomazi.tasklist.service.StatsBucket;
+import com.slmakomazi.tasklist.service.TaskArchiveService;
+import com.slmakomazi.tasklist.service.TaskBulkService;
+import com.slmakomazi.tasklist.service.TaskCompletionBatcher;
+import com.slmakomazi.tasklist.service.TaskCursor;
+import com.slmakomazi.tasklist.service.TaskEventPage;
+import com.slmakomazi.tasklist.service.TaskEventService;
+import com.slmakomazi.tasklist.service.TaskEventsExpiredException;
+import com.slmakomazi.tasklist.service.TaskImportResult;
+import com.slmakomazi.tasklist.service.TaskPage;
 import com.slmakomazi.tasklist.service.TaskService;
+import com.slmakomazi.tasklist.service.TaskStats;
+import com.slmakomazi.tasklist.service.TaskStatsService;
+import com.slmakomazi.tasklist.service.TaskTransferService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TaskController.class)
+@Import(IdempotencyService.class)
 class TaskControllerTest {
 
     @Autowired
@@ -29,21 +65,52 @@ class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskBulkService taskBulkService;
+
+    @MockBean
+    private TaskCompletionBatcher taskCompletionBatcher;
+
+    @MockBean
+    private TaskArchiveService taskArchiveService;
+
+    @MockBean
+    private TaskTransferService taskTransferService;
+
+    @MockBean
+    private TaskStatsService taskStatsService;
+
+    @MockBean
+    private TaskEventService taskEventService;
+
+    @MockBean
+    private TaskEventStreams taskEventStreams;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    private static final long CHANGE_VERSION = 7L;
+
     private Task testTask;
     private Task completedTask;
+    private TaskChanges changes;
 
     @BeforeEach
     void setUp() {
         OffsetDateTime now = OffsetDateTime.now();
         testTask = new Task("Test task", now.plusDays(1));
         testTask.setId(1L);
+        testTask.setVersion(0L);
+        testTask.setUpdatedAt(OffsetDateTime.parse("2024-05-01T10:00:00Z"));
 
         completedTask = new Task("Completed task", now.plusDays(2));
         completedTask.setId(2L);
         completedTask.setCompleted(true);
+        completedTask.setVersion(1L);
+        completedTask.setUpdatedAt(OffsetDateTime.parse("2024-05-02T10:00:00Z"));
+
+        changes = new TaskChanges(CHANGE_VERSION, OffsetDateTime.parse("2024-05-02T10:00:00Z"));
+        when(taskService.changes()).thenReturn(changes);
     }
 
     @Test
@@ -63,6 +130,55 @@ class TaskControllerTest {
         verify(taskService, times(1)).create(any(Task.class));
     }
 
+    @Test
+    void testCreate_ConcurrentRetriesWithIdempotencyKeyCreateOnce() throws Exception {
+        // Given - the first request is still inserting when the retries arrive
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskService.create(any(Task.class))).thenAnswer(invocation -> {
+            inserting.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return testTask;
+        });
+        String body = objectMapper.writeValueAsString(new Task("Test task", testTask.getDueDate()));
+        ExecutorService clients = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<MvcResult>> responses = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                responses.add(clients.submit(() -> mockMvc.perform(post("/api/tasks")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)).andReturn()));
+                if (i == 0) {
+                    assertTrue(inserting.await(5, TimeUnit.SECONDS));
+                }
+            }
+
+            // When
+            release.countDown();
+
+            // Then
+            int replayed = 0;
+            for (Future<MvcResult> response : responses) {
+                MvcResult result = response.get(5, TimeUnit.SECONDS);
+                assertEquals(201, result.getResponse().getStatus());
+                assertEquals(1, objectMapper.readValue(result.getResponse().getContentAsString(), Task.class).getId());
+                replayed += "true".equals(result.getResponse().getHeader("Idempotent-Replayed")) ? 1 : 0;
+            }
+            assertEquals(2, replayed);
+            verify(taskService, times(1)).create(any(Task.class));
+        } finally {
+            clients.shutdownNow();
+        }
+
+        // And the key cannot be reused for a different task
+        mockMvc.perform(post("/api/tasks")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Task("Other task", testTask.getDueDate()))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     void testCreate_InvalidTask() throws Exception {
         // Given
@@ -77,11 +193,30 @@ class TaskControllerTest {
         verify(taskService, never()).create(any(Task.class));
     }
 
+    @Test
+    void testCreateBulk_ReportsIdsAndErrors() throws Exception {
+        // Given
+        BulkInsertResult result = new BulkInsertResult(2, 1, List.of(10L, 11L),
+                List.of(new BulkInsertResult.ItemError(1, "description must not be blank")));
+        when(taskBulkService.ingest(any())).thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(post("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{}\n{}\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.ids[1]").value(11))
+                .andExpect(jsonPath("$.errors[0].index").value(1));
+
+        verify(taskService, never()).create(any(Task.class));
+    }
+
     @Test
     void testList_AllTasks() throws Exception {
         // Given
         List<Task> allTasks = Arrays.asList(testTask, completedTask);
-        when(taskService.list(null)).thenReturn(allTasks);
+        when(taskService.list(TaskFilter.ALL, null, TaskService.DEFAULT_PAGE_SIZE, CHANGE_VERSION)).thenReturn(new TaskPage(allTasks, null));
 
         // When & Then
         mockMvc.perform(get("/api/tasks"))
@@ -90,15 +225,17 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].description").value("Test task"))
                 .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].description").value("Completed task"));
+                .andExpect(jsonPath("$[1].description").value("Completed task"))
+                .andExpect(header().doesNotExist(TaskController.NEXT_CURSOR_HEADER));
 
-        verify(taskService, times(1)).list(null);
+        verify(taskService, times(1)).list(TaskFilter.ALL, null, TaskService.DEFAULT_PAGE_SIZE, CHANGE_VERSION);
     }
 
     @Test
     void testList_CompletedTasksOnly() throws Exception {
         // Given
-        when(taskService.list(true)).thenReturn(Arrays.asList(completedTask));
+        when(taskService.list(TaskFilter.completed(true), null, TaskService.DEFAULT_PAGE_SIZE, CHANGE_VERSION))
+                .thenReturn(new TaskPage(Arrays.asList(completedTask), null));
 
         // When & Then
         mockMvc.perform(get("/api/tasks")
@@ -108,13 +245,14 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$[0].id").value(2))
                 .andExpect(jsonPath("$[0].completed").value(true));
 
-        verify(taskService, times(1)).list(true);
+        verify(taskService, times(1)).list(TaskFilter.completed(true), null, TaskService.DEFAULT_PAGE_SIZE, CHANGE_VERSION);
     }
 
     @Test
     void testList_PendingTasksOnly() throws Exception {
         // Given
-        when(taskService.list(false)).thenReturn(Arrays.asList(testTask));
+        when(taskService.list(TaskFilter.completed(false), null, TaskService.DEFAULT_PAGE_SIZE, CHANGE_VERSION))
+                .thenReturn(new TaskPage(Arrays.asList(testTask), null));
 
         // When & Then
         mockMvc.perform(get("/api/tasks")
@@ -124,7 +262,287 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].completed").value(false));
 
-        verify(taskService, times(1)).list(false);
+        verify(taskService, times(1)).list(TaskFilter.completed(false), null, TaskService.DEFAULT_PAGE_SIZE, CHANGE_VERSION);
+    }
+
+    @Test
+    void testList_FiltersAndSortArePassedToService() throws Exception {
+        // Given
+        TaskFilter filter = new TaskFilter(false, OffsetDateTime.parse("2030-01-01T00:00Z"),
+                OffsetDateTime.parse("2030-02-01T00:00Z"), true, "Call", true);
+        when(taskService.list(filter, null, TaskService.DEFAULT_PAGE_SIZE, CHANGE_VERSION))
+                .thenReturn(new TaskPage(Arrays.asList(testTask), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks")
+                .param("completed", "false")
+                .param("dueAfter", "2030-01-01T00:00:00Z")
+                .param("dueBefore", "2030-02-01T00:00:00Z")
+                .param("overdue", "true")
+                .param("descriptionPrefix", "Call")
+                .param("sort", "-dueDate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void testList_UnsupportedSort() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/tasks").param("sort", "description"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).list(any(), any(), anyInt(), anyLong());
+    }
+
+    @Test
+    void testList_NextPageCursor() throws Exception {
+        // Given
+        String cursor = new TaskCursor(OffsetDateTime.parse("2030-01-01T10:00:00Z"), 1L).encode();
+        when(taskService.list(TaskFilter.ALL, cursor, 1, CHANGE_VERSION)).thenReturn(new TaskPage(Arrays.asList(testTask), "def"));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks")
+                .param("cursor", cursor)
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string(TaskController.NEXT_CURSOR_HEADER, "def"));
+    }
+
+    @Test
+    void testList_InvalidCursor() throws Exception {
+        // Given
+        when(taskService.list(TaskFilter.ALL, "garbage", TaskService.DEFAULT_PAGE_SIZE, CHANGE_VERSION))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: garbage"));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks")
+                .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testList_InvalidRequestIsBadRequestEvenWhenNotModified() throws Exception {
+        // When & Then - the ETag matches, but neither request is valid
+        mockMvc.perform(get("/api/tasks")
+                .param("cursor", "garbage")
+                .header(HttpHeaders.IF_NONE_MATCH, TaskController.eTag(CHANGE_VERSION)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks")
+                .param("sort", "description")
+                .header(HttpHeaders.IF_NONE_MATCH, TaskController.eTag(CHANGE_VERSION)))
+                .andExpect(status().isBadRequest());
+        verify(taskService, never()).list(any(), any(), anyInt(), anyLong());
+    }
+
+    @Test
+    void testStream_JsonArray() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<Task> sink = invocation.getArgument(1);
+            sink.accept(testTask);
+            sink.accept(completedTask);
+            return null;
+        }).when(taskService).stream(isNull(), any());
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks").param("stream", "true"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].id").value(2));
+    }
+
+    @Test
+    void testStream_Ndjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<Task> sink = invocation.getArgument(1);
+            sink.accept(testTask);
+            sink.accept(completedTask);
+            return null;
+        }).when(taskService).stream(eq(true), any());
+
+        // When & Then
+        String body = mockMvc.perform(get("/api/tasks")
+                .param("stream", "true")
+                .param("completed", "true")
+                .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readValue(lines[0], Task.class).getId());
+        assertEquals(2L, objectMapper.readValue(lines[1], Task.class).getId());
+    }
+
+    @Test
+    void testExport_CsvUnlessNdjsonAccepted() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("id,description\n1,Test task\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(taskTransferService).export(eq(true), eq(TaskTransferService.Format.CSV), any());
+
+        // When & Then - written synchronously, no async dispatch
+        mockMvc.perform(get("/api/tasks/export").param("completed", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.csv\""))
+                .andExpect(content().string("id,description\n1,Test task\n"));
+        mockMvc.perform(get("/api/tasks/export").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson\""));
+        verify(taskTransferService).export(isNull(), eq(TaskTransferService.Format.NDJSON), any());
+    }
+
+    @Test
+    void testImport_FormatFollowsContentType() throws Exception {
+        // Given
+        TaskImportResult result = new TaskImportResult(2, 1,
+                List.of(new BulkInsertResult.ItemError(1, "description must not be blank")), 1000);
+        when(taskTransferService.importTasks(eq(TaskTransferService.Format.CSV), any())).thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(post("/api/tasks/import")
+                .contentType("text/csv")
+                .content("description,dueDate\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.ids").doesNotExist());
+        mockMvc.perform(post("/api/tasks/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+        verify(taskBulkService, never()).ingest(any());
+    }
+
+    @Test
+    void testGet_ExistingTask() throws Exception {
+        // Given
+        when(taskService.get(1L)).thenReturn(testTask);
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.description").value("Test task"));
+    }
+
+    @Test
+    void testList_CarriesEtagAndLastModified() throws Exception {
+        // Given
+        when(taskService.list(TaskFilter.ALL, null, TaskService.DEFAULT_PAGE_SIZE, CHANGE_VERSION))
+                .thenReturn(new TaskPage(List.of(testTask), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"7\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Thu, 02 May 2024 10:00:00 GMT"));
+    }
+
+    @Test
+    void testList_MatchingEtagSkipsQuery() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(taskService, never()).list(any(), any(), anyInt(), anyLong());
+    }
+
+    @Test
+    void testStats_WeeklyBuckets() throws Exception {
+        // Given
+        TaskStats stats = new TaskStats(3, 2, 1, 1, StatsBucket.WEEK,
+                List.of(new TaskStats.DueBucket(LocalDate.parse("2030-01-07"), 1, 1)),
+                OffsetDateTime.parse("2030-01-08T10:00:00Z"));
+        when(taskStatsService.stats(StatsBucket.WEEK)).thenReturn(stats);
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/stats").param("bucket", "week"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.open").value(2))
+                .andExpect(jsonPath("$.overdue").value(1))
+                .andExpect(jsonPath("$.dueDates[0].start").value("2030-01-07"));
+        mockMvc.perform(get("/api/tasks/stats").param("bucket", "month"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testChanges_EventsAfterPositionAndPurgedPositionIsGone() throws Exception {
+        // Given
+        TaskEvent event = new TaskEvent(8L, 1L, TaskEvent.Type.COMPLETED, OffsetDateTime.parse("2030-01-08T10:00:00Z"), testTask);
+        when(taskEventService.changes(7L, 100, Duration.ofSeconds(5)))
+                .thenReturn(CompletableFuture.completedFuture(new TaskEventPage(List.of(event), 8L)));
+        when(taskEventService.changes(2L, 100, Duration.ZERO)).thenThrow(new TaskEventsExpiredException(2L, 5L));
+
+        // When & Then
+        MvcResult result = mockMvc.perform(get("/api/tasks/changes").param("since", "7").param("wait", "5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.next").value(8))
+                .andExpect(jsonPath("$.events[0].type").value("COMPLETED"))
+                .andExpect(jsonPath("$.events[0].task.description").value("Test task"));
+        MvcResult gone = mockMvc.perform(get("/api/tasks/changes").param("since", "2")).andReturn();
+        mockMvc.perform(asyncDispatch(gone))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void testGet_MatchingEtagIsNotModified() throws Exception {
+        // Given
+        when(taskService.get(1L)).thenReturn(testTask);
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/1").header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/tasks/1").header(HttpHeaders.IF_NONE_MATCH, "\"5\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"0\""));
+    }
+
+    @Test
+    void testArchived_ReadFromArchiveOnlyWhenAsked() throws Exception {
+        // Given
+        when(taskArchiveService.list(null, 100)).thenReturn(new TaskPage(List.of(completedTask), null));
+        when(taskArchiveService.get(2L)).thenReturn(completedTask);
+        completedTask.setVersion(3L);
+        completedTask.setUpdatedAt(OffsetDateTime.parse("2024-05-01T10:00:00Z"));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks").param("archived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2));
+        mockMvc.perform(get("/api/tasks/2").param("archived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true));
+        mockMvc.perform(get("/api/tasks").param("archived", "true").param("overdue", "true"))
+                .andExpect(status().isBadRequest());
+        verify(taskService, never()).list(any(), any(), anyInt(), anyLong());
+        verify(taskService, never()).get(anyLong());
+    }
+
+    @Test
+    void testGet_MissingTask() throws Exception {
+        // Given
+        when(taskService.get(999L)).thenThrow(new IllegalArgumentException("Task not found: 999"));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/999"))
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -137,7 +555,10 @@ class TaskControllerTest {
         when(taskService.markCompleted(1L)).thenReturn(completedTask);
 
         // When & Then
-        mockMvc.perform(put("/api/tasks/1/complete"))
+        MvcResult result = mockMvc.perform(put("/api/tasks/1/complete"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.description").value("Test task"))
@@ -152,7 +573,8 @@ class TaskControllerTest {
         when(taskService.markCompleted(999L)).thenThrow(new IllegalArgumentException("Task not found: 999"));
 
         // When & Then
-        mockMvc.perform(put("/api/tasks/999/complete"))
+        MvcResult result = mockMvc.perform(put("/api/tasks/999/complete")).andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isNotFound());
 
         verify(taskService, times(1)).markCompleted(999L);
@@ -164,11 +586,84 @@ class TaskControllerTest {
         when(taskService.markCompleted(2L)).thenReturn(completedTask);
 
         // When & Then
-        mockMvc.perform(put("/api/tasks/2/complete"))
+        MvcResult result = mockMvc.perform(put("/api/tasks/2/complete")).andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(2))
                 .andExpect(jsonPath("$.completed").value(true));
 
         verify(taskService, times(1)).markCompleted(2L);
     }
+
+    @Test
+    void testComplete_WriteBehindAnswersWhenBatchCommits() throws Exception {
+        // Given
+        CompletableFuture<Task> pending = new CompletableFuture<>();
+        when(taskCompletionBatcher.isEnabled()).thenReturn(true);
+        when(taskCompletionBatcher.complete(2L)).thenReturn(pending);
+        when(taskCompletionBatcher.complete(999L))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Task not found: 999")));
+
+        // When
+        MvcResult result = mockMvc.perform(put("/api/tasks/2/complete"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals("", result.getResponse().getContentAsString());
+        pending.complete(completedTask);
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(2))
+                .andExpect(jsonPath("$.completed").value(true));
+        MvcResult missing = mockMvc.perform(put("/api/tasks/999/complete")).andReturn();
+        mockMvc.perform(asyncDispatch(missing))
+                .andExpect(status().isNotFound());
+        verify(taskService, never()).markCompleted(anyLong());
+    }
+
+    @Test
+    void testCompleteAll_ByIds() throws Exception {
+        // Given
+        when(taskService.markAllCompleted(List.of(1L, 2L, 3L)))
+                .thenReturn(new BulkCompleteResult(List.of(1L), List.of(2L), List.of(3L)));
+
+        // When & Then
+        mockMvc.perform(put("/api/tasks/complete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [1, 2, 3]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed[0]").value(1))
+                .andExpect(jsonPath("$.alreadyCompleted[0]").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(3));
+    }
+
+    @Test
+    void testCompleteAll_ByDueBefore() throws Exception {
+        // Given
+        when(taskService.markAllCompletedDueBefore(any(OffsetDateTime.class)))
+                .thenReturn(new BulkCompleteResult(List.of(1L), List.of(), List.of()));
+
+        // When & Then
+        mockMvc.perform(put("/api/tasks/complete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"dueBefore\": \"2030-01-01T00:00:00Z\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed[0]").value(1));
+    }
+
+    @Test
+    void testCompleteAll_RequiresExactlyOneSelector() throws Exception {
+        mockMvc.perform(put("/api/tasks/complete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put("/api/tasks/complete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [1], \"dueBefore\": \"2030-01-01T00:00:00Z\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taskService);
+    }
 }
@@ -0,0 +1,68 @@
+package com.slmakomazi.tasklist.controller;
+
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import com.slmakomazi.tasklist.service.TaskEventPage;
+import com.slmakomazi.tasklist.service.TaskEventService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskEventStreamsTest {
+
+    @Mock
+    private TaskEventService taskEventService;
+
+    @Test
+    void testSlowConsumerIsEvictedOnceItsBufferIsFull() throws Exception {
+        // Given - a stream still catching up, so nothing drains its buffer of two
+        CountDownLatch catchingUp = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskEventService.changes(null, TaskEventService.MAX_PAGE_SIZE)).thenReturn(new TaskEventPage(List.of(), 0L));
+        when(taskEventService.changes(0L, TaskEventService.MAX_PAGE_SIZE))
+                .thenAnswer(invocation -> {
+                    catchingUp.countDown();
+                    release.await();
+                    return new TaskEventPage(List.of(), 0L);
+                })
+                .thenReturn(new TaskEventPage(events(1, 3), 3L));
+        TaskEventStreams streams = new TaskEventStreams(taskEventService, 2, Duration.ofMinutes(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        streams.bindTo(registry);
+        streams.publishedThrough(0L);
+        streams.open(null);
+        assertTrue(catchingUp.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, registry.get("tasklist.stream.subscribers").gauge().value());
+
+        // When - three events arrive for a buffer of two
+        streams.publishedThrough(3L);
+        release.countDown();
+
+        // Then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("tasklist.stream.evicted").functionCounter().count() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1.0, registry.get("tasklist.stream.evicted").functionCounter().count());
+        assertEquals(0.0, registry.get("tasklist.stream.subscribers").gauge().value());
+        streams.destroy();
+    }
+
+    private static List<TaskEvent> events(long from, long to) {
+        return LongStream.rangeClosed(from, to)
+                .mapToObj(position -> new TaskEvent(position, position, TaskEvent.Type.CREATED, OffsetDateTime.now(), null))
+                .toList();
+    }
+}
@@ -0,0 +1,68 @@
+package com.slmakomazi.tasklist.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.slmakomazi.tasklist.model.Task;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testPrometheus_ExposesEveryLatencyLayer() throws Exception {
+        // Given
+        String created = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"Measured\",\"dueDate\":\"2030-01-01T10:00:00Z\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readValue(created, Task.class).getId();
+        mockMvc.perform(get("/api/tasks/{id}", id)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/{id}", id)).andExpect(status().isOk());
+
+        // When
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then - HTTP, service, repository and pool series, with histogram buckets
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(scrape.contains("uri=\"/api/tasks/{id}\""));
+        assertTrue(scrape.contains("tasklist_service_seconds_bucket{"));
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_bucket{"));
+        assertTrue(scrape.contains("repository=\"TaskRepository\""));
+        assertTrue(scrape.contains("hikaricp_connections_acquire_seconds_bucket{"));
+        assertTrue(scrape.contains("hikaricp_connections_active{"));
+        assertTrue(scrape.contains("hikaricp_connections_pending{"));
+        assertTrue(scrape.contains("tasklist_requests_shed_total{reason=\"concurrency\""));
+        assertTrue(scrape.contains("tasklist_requests_shed_total{reason=\"rate-limit\""));
+        assertTrue(scrape.contains("tasklist_concurrency_limit "));
+        assertTrue(scrape.contains("tasklist_completions_queued "));
+        assertTrue(scrape.contains("tasklist_completions_flushes_total "));
+        // The second get is a cache hit and is still timed
+        assertEquals(2, meterRegistry.get("tasklist.service").tag("method", "get").timer().count());
+    }
+}
@@ -0,0 +1,81 @@
+package com.slmakomazi.tasklist.integration;
+
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles({"test", "reactive"})
+class ReactiveTaskApiTest extends TaskApiContractTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Override
+    protected WebTestClient client() {
+        return webTestClient;
+    }
+
+    @Override
+    protected void deleteAllTasks() {
+        databaseClient.sql("DELETE FROM tasks").fetch().rowsUpdated().block();
+        databaseClient.sql("DELETE FROM tasks_archive").fetch().rowsUpdated().block();
+    }
+
+    @Override
+    protected void archiveCompletedTasks() {
+        // The archive job runs on the servlet stack; this is the move it makes
+        databaseClient.sql("INSERT INTO tasks_archive (id, description, due_date, version, updated_at, archived_at) " +
+                "SELECT id, description, due_date, version, updated_at, CURRENT_TIMESTAMP FROM tasks WHERE completed = true")
+                .fetch().rowsUpdated().block();
+        databaseClient.sql("DELETE FROM tasks WHERE completed = true").fetch().rowsUpdated().block();
+    }
+
+    @Test
+    void testStream_PushesCommittedEvents() {
+        // Given - an open stream
+        var stream = webTestClient.get().uri("/api/tasks/stream").accept(MediaType.TEXT_EVENT_STREAM).exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<TaskEvent>>() {})
+                .getResponseBody();
+
+        // When
+        Task created = webTestClient.post().uri("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("description", "Pushed task", "dueDate", "2030-01-01T10:00:00Z"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Task.class).returnResult().getResponseBody();
+
+        // Then
+        assertNotNull(created);
+        List<TaskEvent> events = stream
+                .filter(event -> event.data() != null && created.getId().equals(event.data().taskId()))
+                .map(ServerSentEvent::data)
+                .take(1)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+        assertNotNull(events);
+        assertEquals(TaskEvent.Type.CREATED, events.get(0).type());
+        webTestClient.get().uri("/api/tasks/stream").header("Last-Event-ID", "-1").exchange()
+                .expectStatus().isBadRequest();
+    }
+}
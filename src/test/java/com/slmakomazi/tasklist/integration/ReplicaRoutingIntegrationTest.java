@@ -0,0 +1,70 @@
+package com.slmakomazi.tasklist.integration;
+
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskFilter;
+import com.slmakomazi.tasklist.service.TaskService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two in-memory H2 databases stand in for a PostgreSQL primary and its streaming replica.
+ * Nothing replicates between them, which makes it visible where each query ran.
+ */
+@SpringBootTest(properties = {
+        "tasklist.datasource.replica-urls=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "tasklist.datasource.read-your-writes-window=2s"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:replicadb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void createReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").locations("classpath:db/migration/h2").load().migrate();
+        new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "")).update(
+                "insert into tasks (description, due_date, completed, version, updated_at) values (?, ?, false, 0, ?)",
+                "Only on the replica", OffsetDateTime.parse("2030-01-01T10:00:00Z"), OffsetDateTime.now());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // The primary is the testdb shared with the other integration tests
+        jdbcTemplate.update("delete from tasks");
+    }
+
+    @Test
+    void testReadsGoToReplicaUntilAWriteIsSeen() {
+        // When - a read-only transaction with no recent write
+        var fromReplica = taskService.list(TaskFilter.ALL, null, 10, 1L).items();
+
+        // Then
+        assertEquals(1, fromReplica.size());
+        assertEquals("Only on the replica", fromReplica.get(0).getDescription());
+
+        // When - a write goes to the primary and pins reads there for the window
+        Task created = taskService.create(new Task("Written to the primary", OffsetDateTime.parse("2030-01-02T10:00:00Z")));
+        var afterWrite = taskService.list(TaskFilter.ALL, null, 10, 2L).items();
+
+        // Then
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from tasks where id = ?", Integer.class, created.getId()));
+        assertTrue(afterWrite.stream().anyMatch(task -> task.getId().equals(created.getId())));
+        assertTrue(afterWrite.stream().noneMatch(task -> task.getDescription().equals("Only on the replica")));
+    }
+}
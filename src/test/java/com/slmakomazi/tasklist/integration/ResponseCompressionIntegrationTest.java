@@ -0,0 +1,81 @@
+package com.slmakomazi.tasklist.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Compression is done by the web server, which MockMvc leaves out. */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ResponseCompressionIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from tasks");
+    }
+
+    @Test
+    void testList_GzippedAboveTheSizeThreshold() throws IOException, InterruptedException {
+        // Given
+        Task first = null;
+        for (int i = 0; i < 50; i++) {
+            Task created = taskService.create(new Task("Compressed task " + i, OffsetDateTime.parse("2030-01-01T10:00:00Z").plusHours(i)));
+            first = first == null ? created : first;
+        }
+
+        // When
+        HttpResponse<byte[]> list = get("/api/tasks?limit=50");
+        HttpResponse<byte[]> single = get("/api/tasks/" + first.getId());
+
+        // Then
+        assertEquals(Optional.of("gzip"), list.headers().firstValue(HttpHeaders.CONTENT_ENCODING));
+        byte[] json;
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(list.body()))) {
+            json = in.readAllBytes();
+        }
+        assertEquals(50, objectMapper.readValue(json, Task[].class).length);
+        assertTrue(list.body().length * 3 < json.length, "gzip should shrink the repetitive JSON well");
+        assertEquals(Optional.empty(), single.headers().firstValue(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    // The JDK client leaves the body compressed; WebClient would inflate it transparently
+    private HttpResponse<byte[]> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
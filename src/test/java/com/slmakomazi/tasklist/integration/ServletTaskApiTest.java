@@ -0,0 +1,48 @@
+package com.slmakomazi.tasklist.integration;
+
+import com.slmakomazi.tasklist.repository.TaskRepository;
+import com.slmakomazi.tasklist.service.TaskArchiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
+
+import java.time.OffsetDateTime;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ServletTaskApiTest extends TaskApiContractTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskArchiveService archiveService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    protected WebTestClient client() {
+        return MockMvcWebTestClient.bindTo(mockMvc).build();
+    }
+
+    @Override
+    protected void deleteAllTasks() {
+        taskRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM tasks_archive");
+    }
+
+    @Override
+    protected void archiveCompletedTasks() {
+        archiveService.archiveCompletedBefore(OffsetDateTime.now().plusMinutes(1));
+    }
+}
@@ -0,0 +1,487 @@
+package com.slmakomazi.tasklist.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.slmakomazi.tasklist.config.WireFormatConfig;
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import com.slmakomazi.tasklist.service.BulkCompleteResult;
+import com.slmakomazi.tasklist.service.BulkInsertResult;
+import com.slmakomazi.tasklist.service.TaskEventPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour both the servlet and the reactive stack must share. Subclasses only decide
+ * which stack the {@link WebTestClient} talks to.
+ */
+abstract class TaskApiContractTests {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    protected abstract WebTestClient client();
+
+    /** Empties the tasks and archive tables through the data access stack under test. */
+    protected abstract void deleteAllTasks();
+
+    /** Moves every completed task to the archive, as the archive job does once they are old enough. */
+    protected abstract void archiveCompletedTasks();
+
+    @BeforeEach
+    void cleanUp() {
+        deleteAllTasks();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void testCreateGetAndComplete() {
+        // Given
+        Task created = create("Contract task", OffsetDateTime.parse("2030-01-01T10:00:00Z"));
+
+        // When
+        client().put().uri("/api/tasks/{id}/complete", created.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.completed").isEqualTo(true);
+
+        // Then
+        client().get().uri("/api/tasks/{id}", created.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.description").isEqualTo("Contract task")
+                .jsonPath("$.completed").isEqualTo(true);
+        client().get().uri("/api/tasks?completed=false").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(0);
+    }
+
+    @Test
+    void testConditionalGet_NotModifiedUntilTasksChange() {
+        // Given
+        Task created = create("Polled task", OffsetDateTime.parse("2030-01-01T10:00:00Z"));
+        String listTag = client().get().uri("/api/tasks").exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists("Last-Modified")
+                .returnResult(String.class).getResponseHeaders().getETag();
+        String taskTag = client().get().uri("/api/tasks/{id}", created.getId()).exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class).getResponseHeaders().getETag();
+        assertNotNull(listTag);
+        assertNotNull(taskTag);
+
+        // When / Then - nothing changed yet
+        client().get().uri("/api/tasks").ifNoneMatch(listTag).exchange()
+                .expectStatus().isNotModified();
+        client().get().uri("/api/tasks/{id}", created.getId()).ifNoneMatch(taskTag).exchange()
+                .expectStatus().isNotModified();
+
+        // When / Then - completing the task moves both tags
+        client().put().uri("/api/tasks/{id}/complete", created.getId()).exchange().expectStatus().isOk();
+        client().get().uri("/api/tasks").ifNoneMatch(listTag).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].completed").isEqualTo(true);
+        client().get().uri("/api/tasks/{id}", created.getId()).ifNoneMatch(taskTag).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.version").isEqualTo(1);
+    }
+
+    @Test
+    void testConditionalGet_OverduePageChangesWithoutAWrite() throws InterruptedException {
+        // Given - a task falling due in a moment, and the list's current tag
+        Task created = create("Falling due", OffsetDateTime.now().plusSeconds(1));
+        String listTag = client().get().uri("/api/tasks").exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class).getResponseHeaders().getETag();
+        client().get().uri("/api/tasks?overdue=true").exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("ETag")
+                .expectHeader().valueEquals("Cache-Control", "no-cache")
+                .expectBody().jsonPath("$.length()").isEqualTo(0);
+
+        // When - it falls due with no write to move the tag
+        Thread.sleep(1500);
+
+        // Then
+        client().get().uri("/api/tasks?overdue=true").ifNoneMatch(listTag).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(created.getId());
+    }
+
+    @Test
+    void testCreate_InvalidTaskIsRejected() {
+        client().post().uri("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("description", "", "dueDate", "2030-01-01T10:00:00Z"))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testUnknownTaskIsNotFound() {
+        client().get().uri("/api/tasks/999999").exchange().expectStatus().isNotFound();
+        client().put().uri("/api/tasks/999999/complete").exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void testArchived_OnlyReachableWithParameter() {
+        // Given
+        Task open = create("Open task", OffsetDateTime.parse("2030-01-01T10:00:00Z"));
+        Task done = create("Archived task", OffsetDateTime.parse("2030-01-02T10:00:00Z"));
+        client().put().uri("/api/tasks/{id}/complete", done.getId()).exchange().expectStatus().isOk();
+
+        // When
+        archiveCompletedTasks();
+
+        // Then
+        client().get().uri("/api/tasks").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(open.getId().intValue());
+        client().get().uri("/api/tasks?archived=true").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(done.getId().intValue())
+                .jsonPath("$[0].completed").isEqualTo(true);
+        client().get().uri("/api/tasks/{id}", done.getId()).exchange().expectStatus().isNotFound();
+        client().get().uri("/api/tasks/{id}?archived=true", done.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.description").isEqualTo("Archived task");
+        client().get().uri("/api/tasks?archived=true&completed=false").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testList_PagesWithCursorHeader() {
+        // Given
+        for (int day = 1; day <= 3; day++) {
+            create("Task " + day, OffsetDateTime.parse("2030-01-0" + day + "T10:00:00Z"));
+        }
+
+        // When
+        String next = client().get().uri("/api/tasks?limit=2").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(2)
+                .returnResult().getResponseHeaders().getFirst("X-Next-Cursor");
+
+        // Then
+        assertNotNull(next);
+        client().get().uri(uri -> uri.path("/api/tasks").queryParam("limit", 2).queryParam("cursor", next).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("X-Next-Cursor")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].description").isEqualTo("Task 3");
+        client().get().uri("/api/tasks?cursor=not-a-cursor").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testSearch_MatchesAllTermsAndPages() {
+        // Given
+        create("Buy milk and bread", OffsetDateTime.parse("2030-01-01T10:00:00Z"));
+        create("Buy milk for the office", OffsetDateTime.parse("2030-01-02T10:00:00Z"));
+        create("Call the plumber", OffsetDateTime.parse("2030-01-03T10:00:00Z"));
+
+        // When
+        String next = client().get().uri("/api/tasks/search?q=milk buy&limit=1").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(1)
+                .returnResult().getResponseHeaders().getFirst("X-Next-Cursor");
+
+        // Then
+        assertNotNull(next);
+        client().get().uri(uri -> uri.path("/api/tasks/search").queryParam("q", "milk buy")
+                        .queryParam("limit", 1).queryParam("cursor", next).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("X-Next-Cursor")
+                .expectBody().jsonPath("$.length()").isEqualTo(1);
+        client().get().uri("/api/tasks/search?q=plumber").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].description").isEqualTo("Call the plumber");
+        client().get().uri("/api/tasks/search?q=").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testList_FiltersAndSortsInTheDatabase() {
+        // Given
+        create("Call plumber", OffsetDateTime.parse("2030-01-01T10:00:00Z"));
+        create("Call bank", OffsetDateTime.parse("2030-01-05T10:00:00Z"));
+        create("Call_centre", OffsetDateTime.parse("2030-01-07T10:00:00Z"));
+        create("Pay rent", OffsetDateTime.parse("2030-01-09T10:00:00Z"));
+        Task overdue = create("Call back", OffsetDateTime.now().minusDays(1));
+
+        // When
+        String next = client().get().uri(uri -> uri.path("/api/tasks")
+                        .queryParam("descriptionPrefix", "Call ")
+                        .queryParam("dueAfter", "2029-12-31T00:00:00Z")
+                        .queryParam("sort", "-dueDate")
+                        .queryParam("limit", 1).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].description").isEqualTo("Call bank")
+                .returnResult().getResponseHeaders().getFirst("X-Next-Cursor");
+
+        // Then
+        assertNotNull(next);
+        client().get().uri(uri -> uri.path("/api/tasks")
+                        .queryParam("descriptionPrefix", "Call ")
+                        .queryParam("dueAfter", "2029-12-31T00:00:00Z")
+                        .queryParam("sort", "-dueDate")
+                        .queryParam("limit", 1)
+                        .queryParam("cursor", next).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("X-Next-Cursor")
+                .expectBody().jsonPath("$[0].description").isEqualTo("Call plumber");
+        client().get().uri("/api/tasks?overdue=true").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(overdue.getId());
+        client().get().uri("/api/tasks?sort=description").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testStats_CountsInOneQuery() {
+        // Given
+        create("Overdue", OffsetDateTime.now().minusDays(1));
+        Task done = create("Done tomorrow", OffsetDateTime.now().plusDays(1));
+        create("Far future", OffsetDateTime.now().plusYears(1));
+        client().put().uri("/api/tasks/{id}/complete", done.getId()).exchange().expectStatus().isOk();
+
+        // When / Then
+        client().get().uri("/api/tasks/stats").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(3)
+                .jsonPath("$.open").isEqualTo(2)
+                .jsonPath("$.completed").isEqualTo(1)
+                .jsonPath("$.overdue").isEqualTo(1)
+                .jsonPath("$.bucket").isEqualTo("DAY")
+                .jsonPath("$.dueDates.length()").isEqualTo(14)
+                .jsonPath("$.dueDates[*].completed").value(counts -> assertEquals(1,
+                        ((List<?>) counts).stream().mapToInt(c -> ((Number) c).intValue()).sum()));
+        client().get().uri("/api/tasks/stats?bucket=week").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.bucket").isEqualTo("WEEK");
+    }
+
+    @Test
+    void testStream_JsonArrayAndNdjson() {
+        // Given
+        create("First", OffsetDateTime.parse("2030-01-01T10:00:00Z"));
+        create("Second", OffsetDateTime.parse("2030-01-02T10:00:00Z"));
+
+        // When / Then
+        client().get().uri("/api/tasks?stream=true").accept(MediaType.APPLICATION_JSON).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].description").isEqualTo("Second");
+        String ndjson = client().get().uri("/api/tasks?stream=true").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).returnResult().getResponseBody();
+        assertNotNull(ndjson);
+        assertEquals(2, ndjson.strip().lines().count());
+    }
+
+    @Test
+    void testBulk_InsertsValidItemsAndReportsInvalidOnes() {
+        // Given
+        String body = """
+                {"description":"One","dueDate":"2030-01-01T10:00:00Z"}
+                {"description":"","dueDate":"2030-01-01T10:00:00Z"}
+                {"description":"Three","dueDate":"2030-01-03T10:00:00Z"}
+                """;
+
+        // When
+        BulkInsertResult result = client().post().uri("/api/tasks/bulk").contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BulkInsertResult.class).returnResult().getResponseBody();
+
+        // Then
+        assertNotNull(result);
+        assertEquals(2, result.accepted());
+        assertEquals(1, result.rejected());
+        assertEquals(1, result.errors().get(0).index());
+        client().get().uri("/api/tasks").exchange()
+                .expectBody().jsonPath("$.length()").isEqualTo(2);
+    }
+
+    @Test
+    void testIdempotencyKey_RetriesReplayTheFirstResponse() {
+        // Given
+        String key = UUID.randomUUID().toString();
+        Map<String, String> body = Map.of("description", "Retried task", "dueDate", "2030-01-01T10:00:00Z");
+        Task first = client().post().uri("/api/tasks").header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(body)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().doesNotExist("Idempotent-Replayed")
+                .expectBody(Task.class).returnResult().getResponseBody();
+        String ndjson = """
+                {"description":"Bulk retried","dueDate":"2030-01-02T10:00:00Z"}
+                """;
+        String bulkKey = UUID.randomUUID().toString();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            client().post().uri("/api/tasks/bulk").header("Idempotency-Key", bulkKey)
+                    .contentType(MediaType.APPLICATION_NDJSON).bodyValue(ndjson)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        // When
+        Task retried = client().post().uri("/api/tasks").header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(body)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("Idempotent-Replayed", "true")
+                .expectBody(Task.class).returnResult().getResponseBody();
+
+        // Then
+        assertNotNull(first);
+        assertNotNull(retried);
+        assertEquals(first.getId(), retried.getId());
+        client().get().uri("/api/tasks").exchange()
+                .expectBody().jsonPath("$.length()").isEqualTo(2);
+        client().post().uri("/api/tasks").header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("description", "Another task", "dueDate", "2030-01-01T10:00:00Z"))
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
+    @Test
+    void testList_NegotiatesSmile() throws IOException {
+        // Given
+        create("Binary one", OffsetDateTime.parse("2030-01-01T10:00:00+02:00"));
+        create("Binary two", OffsetDateTime.parse("2030-01-02T10:00:00Z"));
+        ObjectMapper json = objectMapperBuilder.build();
+        byte[] expected = client().get().uri("/api/tasks").accept(MediaType.APPLICATION_JSON).exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        // When
+        byte[] smile = client().get().uri("/api/tasks").accept(WireFormatConfig.SMILE).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(WireFormatConfig.SMILE)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        // Then - the same values, dates still ISO-8601 strings, in fewer bytes
+        assertEquals(json.readTree(expected), WireFormatConfig.smileMapper(objectMapperBuilder).readTree(smile));
+        assertTrue(smile.length < expected.length);
+        client().get().uri("/api/tasks").exchange()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void testCompleteAll_ClassifiesIds() {
+        // Given
+        Task open = create("Open", OffsetDateTime.parse("2030-01-01T10:00:00Z"));
+        Task done = create("Done", OffsetDateTime.parse("2030-01-02T10:00:00Z"));
+        client().put().uri("/api/tasks/{id}/complete", done.getId()).exchange().expectStatus().isOk();
+
+        // When
+        BulkCompleteResult result = client().put().uri("/api/tasks/complete").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("ids", List.of(open.getId(), done.getId(), 999999L)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BulkCompleteResult.class).returnResult().getResponseBody();
+
+        // Then
+        assertNotNull(result);
+        assertEquals(List.of(open.getId()), result.completed());
+        assertEquals(List.of(done.getId()), result.alreadyCompleted());
+        assertEquals(List.of(999999L), result.missing());
+        client().put().uri("/api/tasks/complete").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testCompleteAll_ByDueBeforeOnlyOpenTasks() {
+        // Given
+        Task first = create("Due first", OffsetDateTime.parse("2030-01-01T10:00:00Z"));
+        Task done = create("Done", OffsetDateTime.parse("2030-01-02T10:00:00Z"));
+        Task second = create("Due second", OffsetDateTime.parse("2030-01-03T10:00:00Z"));
+        Task later = create("Due later", OffsetDateTime.parse("2030-02-01T10:00:00Z"));
+        client().put().uri("/api/tasks/{id}/complete", done.getId()).exchange().expectStatus().isOk();
+
+        // When
+        BulkCompleteResult result = client().put().uri("/api/tasks/complete").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("dueBefore", "2030-01-15T00:00:00Z"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BulkCompleteResult.class).returnResult().getResponseBody();
+
+        // Then
+        assertNotNull(result);
+        assertEquals(List.of(first.getId(), second.getId()), result.completed());
+        assertTrue(result.alreadyCompleted().isEmpty());
+        client().get().uri("/api/tasks/{id}", later.getId()).exchange()
+                .expectBody().jsonPath("$.completed").isEqualTo(false);
+    }
+
+    @Test
+    void testChanges_LongPollsCreateAndCompleteInOrder() {
+        // Given
+        long since = changes("/api/tasks/changes").next();
+        Task created = create("Followed task", OffsetDateTime.parse("2030-01-01T10:00:00Z"));
+        client().put().uri("/api/tasks/{id}/complete", created.getId()).exchange().expectStatus().isOk();
+
+        // When - follow until the relay has published both, skipping other tests' events
+        List<TaskEvent> events = new ArrayList<>();
+        long position = since;
+        for (int polls = 0; polls < 10 && events.size() < 2; polls++) {
+            TaskEventPage page = changes("/api/tasks/changes?since=" + position + "&wait=2");
+            page.events().stream().filter(event -> created.getId().equals(event.taskId())).forEach(events::add);
+            position = page.next();
+        }
+
+        // Then
+        assertEquals(List.of(TaskEvent.Type.CREATED, TaskEvent.Type.COMPLETED),
+                events.stream().map(TaskEvent::type).toList());
+        assertTrue(events.get(0).position() < events.get(1).position());
+        assertTrue(events.get(0).task().isCompleted());
+        client().get().uri("/api/tasks/changes?since=-1").exchange().expectStatus().isBadRequest();
+    }
+
+    private TaskEventPage changes(String uri) {
+        TaskEventPage page = client().get().uri(uri).exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskEventPage.class).returnResult().getResponseBody();
+        assertNotNull(page);
+        return page;
+    }
+
+    private Task create(String description, OffsetDateTime dueDate) {
+        return client().post().uri("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("description", description, "dueDate", dueDate.toString()))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Task.class).returnResult().getResponseBody();
+    }
+}
@@ -0,0 +1,90 @@
+package com.slmakomazi.tasklist.integration;
+
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import com.slmakomazi.tasklist.service.TaskEventService;
+import com.slmakomazi.tasklist.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** SSE needs a real server: MockMvc only hands the body over once the emitter completes. */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TaskEventStreamIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskEventService taskEventService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from tasks");
+    }
+
+    @Test
+    void testStream_ResumesFromLastEventIdThenPushesLiveEvents() {
+        // Given - a task created and completed before the client connects
+        long since = taskEventService.changes(null, 1).next();
+        Task missed = taskService.create(new Task("Missed while offline", OffsetDateTime.parse("2030-01-01T10:00:00Z")));
+        taskService.markCompleted(missed.getId());
+
+        // When
+        Flux<ServerSentEvent<TaskEvent>> stream = WebClient.create("http://localhost:" + port).get()
+                .uri("/api/tasks/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", Long.toString(since))
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<TaskEvent>>() {})
+                .filter(event -> event.data() != null);
+        List<ServerSentEvent<TaskEvent>> received = stream
+                .doOnSubscribe(subscription -> new Thread(() -> {
+                    sleep(Duration.ofMillis(500));
+                    taskService.create(new Task("Created while connected", OffsetDateTime.parse("2030-01-02T10:00:00Z")));
+                }).start())
+                .filter(event -> event.data().task() != null)
+                .filter(event -> event.data().task().getDescription().startsWith("Missed")
+                        || event.data().task().getDescription().startsWith("Created while"))
+                .take(3)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // Then
+        assertNotNull(received);
+        assertEquals(List.of(TaskEvent.Type.CREATED, TaskEvent.Type.COMPLETED, TaskEvent.Type.CREATED),
+                received.stream().map(event -> event.data().type()).toList());
+        assertEquals(Long.toString(received.get(0).data().position()), received.get(0).id());
+        assertEquals("Created while connected", received.get(2).data().task().getDescription());
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
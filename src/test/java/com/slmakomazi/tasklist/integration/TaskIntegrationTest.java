@@ -62,7 +62,7 @@ class TaskIntegrationTest {
                 .andExpect(jsonPath("$[0].description").value("Integration test task"));
 
         // Mark as completed
-        mockMvc.perform(put("/api/tasks/" + taskId + "/complete"))
+        mockMvc.perform(asyncDispatch(mockMvc.perform(put("/api/tasks/" + taskId + "/complete")).andReturn()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(taskId))
                 .andExpect(jsonPath("$.completed").value(true));
@@ -95,7 +95,7 @@ class TaskIntegrationTest {
 
     @Test
     void testMarkNonExistentTaskAsCompleted() throws Exception {
-        mockMvc.perform(put("/api/tasks/999/complete"))
+        mockMvc.perform(asyncDispatch(mockMvc.perform(put("/api/tasks/999/complete")).andReturn()))
                 .andExpect(status().isNotFound());
     }
 
@@ -131,7 +131,7 @@ class TaskIntegrationTest {
                 .andExpect(jsonPath("$.length()").value(2));
 
         // Mark first task as completed
-        mockMvc.perform(put("/api/tasks/" + createdTask1.getId() + "/complete"))
+        mockMvc.perform(asyncDispatch(mockMvc.perform(put("/api/tasks/" + createdTask1.getId() + "/complete")).andReturn()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.completed").value(true));
 
@@ -0,0 +1,62 @@
+package com.slmakomazi.tasklist.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.OffsetDateTime;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+
+/** A full-table stream outlasting the servlet async timeout, which MockMvc does not enforce. */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.mvc.async.request-timeout=200ms")
+@ActiveProfiles("test")
+class TaskStreamIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @SpyBean
+    private TaskService taskService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testStream_RunsPastTheAsyncTimeout() throws IOException, InterruptedException {
+        // Given - five tasks read at 100ms each, well past the 200ms timeout
+        doAnswer(invocation -> {
+            Consumer<Task> sink = invocation.getArgument(1);
+            for (int i = 0; i < 5; i++) {
+                Thread.sleep(100);
+                sink.accept(new Task("Streamed task " + i, OffsetDateTime.parse("2030-01-01T10:00:00Z").plusHours(i)));
+            }
+            return null;
+        }).when(taskService).stream(isNull(), any());
+
+        // When
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks?stream=true")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Then - the whole array, not one cut off when the timeout fired
+        assertEquals(200, response.statusCode());
+        assertEquals(5, objectMapper.readValue(response.body(), Task[].class).length);
+    }
+}
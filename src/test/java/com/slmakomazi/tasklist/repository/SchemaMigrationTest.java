@@ -0,0 +1,104 @@
+package com.slmakomazi.tasklist.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Migrates a real PostgreSQL with the application's own Flyway configuration, both an
+ * empty database and one created before migrations existed. The CONCURRENTLY index
+ * builds wait for every older transaction, so this hangs if Flyway holds its lock in
+ * one. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SchemaMigrationTest {
+
+    private static final String LATEST = "11";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withInitializer(new ConfigDataApplicationContextInitializer())
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class, FlywayAutoConfiguration.class));
+
+    @Test
+    void testMigrate_EmptyDatabase() {
+        // Given
+        String url = createDatabase("fresh");
+
+        // When / Then
+        migrate(url, 0);
+    }
+
+    @Test
+    void testMigrate_BaselinedDatabaseWithTasks() {
+        // Given - the schema ddl-auto used to create, with rows in it
+        String url = createDatabase("legacy");
+        JdbcTemplate legacy = new JdbcTemplate(dataSource(url));
+        legacy.execute("""
+                CREATE TABLE tasks (
+                    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    description VARCHAR(255)                NOT NULL,
+                    due_date    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+                    completed   BOOLEAN                     NOT NULL
+                )""");
+        legacy.execute("""
+                INSERT INTO tasks (description, due_date, completed)
+                SELECT 'task ' || g, now() + (g % 365 - 30) * interval '1 day', g % 50 <> 0
+                FROM generate_series(1, 20000) g
+                """);
+
+        // When / Then
+        migrate(url, 20000);
+    }
+
+    private void migrate(String url, long tasks) {
+        assertTimeoutPreemptively(Duration.ofMinutes(2), () -> runner
+                .withPropertyValues("spring.datasource.url=" + url,
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword())
+                .run(context -> {
+                    assertNull(context.getStartupFailure());
+                    assertEquals(LATEST, context.getBean(Flyway.class).info().current().getVersion().getVersion());
+                    JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+                    assertEquals(tasks, jdbc.queryForObject("SELECT count(*) FROM tasks", Long.class));
+                    List<String> invalid = jdbc.queryForList("""
+                            SELECT c.relname FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+                            WHERE NOT i.indisvalid
+                            """, String.class);
+                    assertEquals(List.of(), invalid);
+                    assertEquals(List.of("idx_tasks_completed_due_date_id", "idx_tasks_completed_updated_at",
+                                    "idx_tasks_description_prefix", "idx_tasks_description_tsv", "idx_tasks_due_date_id",
+                                    "idx_tasks_open_due_date", "idx_tasks_pending_deadlines"),
+                            jdbc.queryForList("""
+                                    SELECT indexname FROM pg_indexes
+                                    WHERE tablename = 'tasks' AND indexname LIKE 'idx_%' ORDER BY indexname
+                                    """, String.class));
+                }));
+    }
+
+    private static String createDatabase(String name) {
+        new JdbcTemplate(dataSource(postgres.getJdbcUrl())).execute("CREATE DATABASE " + name);
+        return "jdbc:postgresql://" + postgres.getHost() + ":" + postgres.getMappedPort(5432) + "/" + name;
+    }
+
+    private static DataSource dataSource(String url) {
+        return new DriverManagerDataSource(url, postgres.getUsername(), postgres.getPassword());
+    }
+}
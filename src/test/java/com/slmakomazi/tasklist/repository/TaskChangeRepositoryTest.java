@@ -0,0 +1,56 @@
+package com.slmakomazi.tasklist.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(TaskChangeRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskChangeRepositoryTest {
+
+    @Autowired
+    private TaskChangeRepository changes;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testRecordChange_BumpsWithTheWritersCommit() {
+        // Given
+        long before = changes.current().version();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            changes.recordChange();
+            // Not bumped yet: the bump is the transaction's last statement
+            assertEquals(before, changes.current().version());
+        });
+
+        // Then
+        assertEquals(before + 1, changes.current().version());
+    }
+
+    @Test
+    void testRecordChange_RolledBackWithTheWrite() {
+        // Given
+        long before = changes.current().version();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            changes.recordChange();
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertEquals(before, changes.current().version());
+    }
+}
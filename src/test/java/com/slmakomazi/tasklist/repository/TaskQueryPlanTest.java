@@ -0,0 +1,91 @@
+package com.slmakomazi.tasklist.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN for the SQL behind the hot {@link TaskRepository} queries against a real
+ * PostgreSQL with the Flyway schema, and fails if any of them plans a sequential scan of
+ * {@code tasks}. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("prod")
+@Testcontainers(disabledWithoutDocker = true)
+class TaskQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // 50k tasks, 2% open, due dates spread over a year
+        jdbcTemplate.execute("""
+                INSERT INTO tasks (description, due_date, completed)
+                SELECT 'task ' || g, now() + (g % 365) * interval '1 day', g % 50 <> 0
+                FROM generate_series(1, 50000) g
+                """);
+        jdbcTemplate.execute("ANALYZE tasks");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // findByOrderByDueDateAscIdAsc
+            "SELECT * FROM tasks ORDER BY due_date, id LIMIT 101",
+            // findByCompletedOrderByDueDateAscIdAsc
+            "SELECT * FROM tasks WHERE completed = false ORDER BY due_date, id LIMIT 101",
+            "SELECT * FROM tasks WHERE completed = true ORDER BY due_date, id LIMIT 101",
+            // findPageAfter(dueDate, id, limit)
+            "SELECT * FROM tasks WHERE due_date > now() + interval '100 days' "
+                    + "OR (due_date = now() + interval '100 days' AND id > 500) ORDER BY due_date, id LIMIT 101",
+            // findPageAfter(completed, dueDate, id, limit)
+            "SELECT * FROM tasks WHERE completed = false AND (due_date > now() + interval '100 days' "
+                    + "OR (due_date = now() + interval '100 days' AND id > 500)) ORDER BY due_date, id LIMIT 101",
+            // findByCompleted(false)
+            "SELECT * FROM tasks WHERE completed = false",
+            // findOpenIdsDueBefore
+            "SELECT id FROM tasks WHERE completed = false AND due_date < now() + interval '30 days' AND id > 500 "
+                    + "ORDER BY id LIMIT 1000",
+            // lockCompletionStates
+            "SELECT id, completed FROM tasks WHERE id IN (1, 2, 3, 4, 5) ORDER BY id FOR UPDATE",
+            // TaskSpecifications: overdue, description prefix
+            "SELECT * FROM tasks WHERE completed = false AND due_date < now() ORDER BY due_date, id LIMIT 101",
+            "SELECT * FROM tasks WHERE description LIKE 'task 1234%' ESCAPE '\\' ORDER BY due_date DESC, id DESC LIMIT 101",
+            // TaskDeadlineRepository.findClaimable
+            "SELECT id, due_date, deadline_state FROM tasks WHERE completed = false AND deadline_state < 2 "
+                    + "AND due_date <= CASE WHEN deadline_state = 0 THEN now() + interval '17 minutes' "
+                    + "ELSE now() + interval '2 minutes' END "
+                    + "AND (deadline_claimed_until IS NULL OR deadline_claimed_until < now()) "
+                    + "ORDER BY due_date LIMIT 500 FOR UPDATE SKIP LOCKED",
+            // TaskArchiveRepository.findArchivable
+            "SELECT id FROM tasks WHERE completed = true AND updated_at < now() - interval '30 days' "
+                    + "ORDER BY updated_at LIMIT 1000 FOR UPDATE SKIP LOCKED",
+            // TaskSearchRepository.search on PostgreSQL
+            "SELECT id, ts_rank(description_tsv, q) FROM tasks, websearch_to_tsquery('english', '12345') q "
+                    + "WHERE description_tsv @@ q",
+    })
+    void testHotQueryDoesNotSeqScan(String sql) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+
+        assertFalse(plan.stream().anyMatch(line -> line.contains("Seq Scan on tasks")),
+                () -> "Sequential scan for: " + sql + "\n" + String.join("\n", plan));
+    }
+}
@@ -6,13 +6,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@ActiveProfiles("test")
 class TaskRepositoryTest {
 
     @Autowired
@@ -143,4 +147,112 @@ class TaskRepositoryTest {
         Task deletedTask = entityManager.find(Task.class, taskId);
         assertNull(deletedTask);
     }
+
+    @Test
+    void testKeysetPages_WalkWholeTableInDueDateOrder() {
+        // Given - a third task sharing pendingTask's due date, so the id tie-breaker matters
+        Task sameDue = new Task("Same due date", pendingTask.getDueDate());
+        entityManager.persist(sameDue);
+        entityManager.flush();
+        entityManager.clear(); // reload from the database so due dates carry stored precision
+
+        // When
+        List<Task> first = taskRepository.findByOrderByDueDateAscIdAsc(Limit.of(2));
+        Task last = first.get(1);
+        List<Task> second = taskRepository.findPageAfter(last.getDueDate(), last.getId(), Limit.of(2));
+
+        // Then
+        assertEquals(List.of(completedTask.getId(), pendingTask.getId()),
+                first.stream().map(Task::getId).toList());
+        assertEquals(List.of(sameDue.getId()), second.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void testKeysetPages_FilteredByCompleted() {
+        // When
+        entityManager.clear();
+        List<Task> pending = taskRepository.findByCompletedOrderByDueDateAscIdAsc(false, Limit.of(10));
+        Task last = pending.get(pending.size() - 1);
+        List<Task> afterPending = taskRepository.findPageAfter(false, last.getDueDate(), last.getId(), Limit.of(10));
+
+        // Then
+        assertEquals(1, pending.size());
+        assertEquals("Pending task", pending.get(0).getDescription());
+        assertTrue(afterPending.isEmpty());
+    }
+
+    @Test
+    void testSpecifications_FilterSortAndKeysetInOneQuery() {
+        // Given - '%' in a prefix must match literally, not as a wildcard
+        Task overdue = new Task("Pending 100% overdue", OffsetDateTime.now().minusDays(1));
+        entityManager.persist(overdue);
+        entityManager.persist(new Task("Pending 1000 later", OffsetDateTime.now().plusDays(3)));
+        entityManager.flush();
+        entityManager.clear();
+        TaskFilter pendingDescending = new TaskFilter(null, null, null, false, "Pending", true);
+
+        // When
+        List<Task> first = taskRepository.findBy(TaskSpecifications.matching(pendingDescending, OffsetDateTime.now()),
+                q -> q.sortBy(TaskSpecifications.order(true)).limit(2).all());
+        Task last = first.get(1);
+        List<Task> second = taskRepository.findBy(TaskSpecifications.matching(pendingDescending, OffsetDateTime.now())
+                        .and(TaskSpecifications.after(last.getDueDate(), last.getId(), true)),
+                q -> q.sortBy(TaskSpecifications.order(true)).limit(2).all());
+        List<Task> escaped = taskRepository.findAll(TaskSpecifications.matching(
+                new TaskFilter(null, null, null, false, "Pending 100%", false), OffsetDateTime.now()));
+        List<Task> overdueOnly = taskRepository.findAll(TaskSpecifications.matching(
+                new TaskFilter(null, null, null, true, null, false), OffsetDateTime.now()));
+
+        // Then
+        assertEquals(List.of("Pending 1000 later", "Pending task"), first.stream().map(Task::getDescription).toList());
+        assertEquals(List.of(overdue.getId()), second.stream().map(Task::getId).toList());
+        assertEquals(List.of(overdue.getId()), escaped.stream().map(Task::getId).toList());
+        assertEquals(List.of(overdue.getId()), overdueOnly.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void testStreamByCompleted() {
+        // When
+        try (Stream<Task> completed = taskRepository.streamByCompleted(true)) {
+            // Then
+            assertEquals(List.of(completedTask.getId()), completed.map(Task::getId).toList());
+        }
+    }
+
+    @Test
+    void testMarkCompleted_SingleStatementOnlyTouchesOpenTask() {
+        // When
+        int changed = taskRepository.markCompleted(pendingTask.getId());
+        int unchanged = taskRepository.markCompleted(completedTask.getId());
+
+        // Then
+        assertEquals(1, changed);
+        assertEquals(0, unchanged);
+        Task reloaded = entityManager.find(Task.class, pendingTask.getId());
+        assertTrue(reloaded.isCompleted());
+        assertEquals(pendingTask.getVersion() + 1, reloaded.getVersion());
+    }
+
+    @Test
+    void testMarkAllCompletedAndCompletionStates() {
+        // Given
+        List<Long> ids = List.of(completedTask.getId(), pendingTask.getId());
+
+        // When
+        int changed = taskRepository.markAllCompleted(ids);
+
+        // Then
+        assertEquals(1, changed);
+        assertTrue(taskRepository.lockCompletionStates(ids).stream()
+                .allMatch(TaskRepository.CompletionState::isCompleted));
+    }
+
+    @Test
+    void testFindOpenIdsDueBefore() {
+        // When
+        List<Long> ids = taskRepository.findOpenIdsDueBefore(OffsetDateTime.now().plusDays(10), 0L, Limit.of(10));
+
+        // Then
+        assertEquals(List.of(pendingTask.getId()), ids);
+    }
 }
@@ -0,0 +1,117 @@
+package com.slmakomazi.tasklist.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.IdempotencyRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({IdempotencyService.class, IdempotencyRepository.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestPropertySource(properties = "tasklist.idempotency.store=jdbc")
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotency;
+
+    @Autowired
+    private IdempotencyRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void testJdbcStore_AnotherNodeReplaysTheStoredResponse() {
+        // Given - a second node with its own, empty in-memory cache
+        IdempotencyService otherNode = new IdempotencyService(objectMapper,
+                context.getBeanProvider(IdempotencyRepository.class), "jdbc", 100, Duration.ofHours(1), Duration.ofMinutes(1));
+        BulkInsertResult inserted = new BulkInsertResult(1, 0, List.of(42L), List.of());
+        AtomicInteger runs = new AtomicInteger();
+        idempotency.execute("bulk", "node-key", null, BulkInsertResult.class, () -> {
+            runs.incrementAndGet();
+            return inserted;
+        });
+
+        // When
+        IdempotentResult<BulkInsertResult> result = otherNode.execute("bulk", "node-key", null,
+                BulkInsertResult.class, () -> {
+                    runs.incrementAndGet();
+                    return inserted;
+                });
+
+        // Then
+        assertTrue(result.replayed());
+        assertEquals(inserted, result.response());
+        assertEquals(1, runs.get());
+
+        // And a key claimed elsewhere and still running is a conflict, not a second run
+        OffsetDateTime now = OffsetDateTime.now();
+        assertTrue(repository.claim("bulk:running-key", null, now, now.minusMinutes(1)));
+        IdempotencyConflictException conflict = assertThrows(IdempotencyConflictException.class, () ->
+                otherNode.execute("bulk", "running-key", null, BulkInsertResult.class, () -> inserted));
+        assertTrue(conflict.isInProgress());
+    }
+
+    @Test
+    void testJdbcStore_ReplaysTaskWithServerAssignedFields() {
+        // Given
+        IdempotencyService otherNode = new IdempotencyService(objectMapper,
+                context.getBeanProvider(IdempotencyRepository.class), "jdbc", 100, Duration.ofHours(1), Duration.ofMinutes(1));
+        Task created = new Task("Replayed task", OffsetDateTime.parse("2030-01-01T10:00:00Z"));
+        created.setId(7L);
+        created.setVersion(3L);
+        created.setUpdatedAt(OffsetDateTime.parse("2030-01-01T09:00:00Z"));
+        idempotency.execute("create", "task-key", "abc", Task.class, () -> created);
+
+        // When
+        IdempotentResult<Task> result = otherNode.execute("create", "task-key", "abc", Task.class, () -> {
+            throw new AssertionError("Must not run again");
+        });
+
+        // Then
+        assertTrue(result.replayed());
+        Task replayed = result.response();
+        assertEquals(7L, replayed.getId());
+        assertEquals("Replayed task", replayed.getDescription());
+        assertEquals(3L, replayed.getVersion());
+        assertEquals(created.getUpdatedAt().toInstant(), replayed.getUpdatedAt().toInstant());
+    }
+
+    @Test
+    void testFailedRequest_ReleasesTheKeyForRetries() {
+        // Given
+        assertThrows(IllegalStateException.class, () ->
+                idempotency.execute("create", "failing-key", "abc", String.class, () -> {
+                    throw new IllegalStateException("database down");
+                }));
+
+        // When
+        IdempotentResult<String> retried = idempotency.execute("create", "failing-key", "abc", String.class, () -> "created");
+
+        // Then
+        assertFalse(retried.replayed());
+        assertEquals("created", retried.response());
+        assertEquals("\"created\"", repository.find("create:failing-key").orElseThrow().response());
+        assertThrows(IllegalArgumentException.class, () ->
+                idempotency.execute("create", " ", "abc", String.class, () -> "created"));
+    }
+}
@@ -0,0 +1,138 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.config.CacheConfig;
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskArchiveRepository;
+import com.slmakomazi.tasklist.repository.TaskChangeRepository;
+import com.slmakomazi.tasklist.repository.TaskEventRepository;
+import com.slmakomazi.tasklist.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TaskArchiveRepository.class, TaskEventRepository.class, TaskChangeRepository.class})
+class TaskArchiveServiceTest {
+
+    @Autowired
+    private TaskArchiveRepository archiveRepository;
+
+    @Autowired
+    private TaskEventRepository eventRepository;
+
+    @Autowired
+    private TaskChangeRepository changeRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.TASKS, CacheConfig.TASK_LISTS);
+
+    @Test
+    void testArchive_MovesOnlyCompletedTasksPastRetention() {
+        // Given - batches of one, so the job has to come back for the second task
+        Task old = save("Done long ago", "2030-01-02T10:00:00Z", true, 40);
+        Task older = save("Done even longer ago", "2030-01-01T10:00:00Z", true, 50);
+        Task recent = save("Done yesterday", "2030-01-03T10:00:00Z", true, 1);
+        Task open = save("Still open", "2030-01-04T10:00:00Z", false, 40);
+        cacheManager.getCache(CacheConfig.TASKS).put(old.getId(), old);
+        TaskArchiveService service = newService(1);
+
+        // When
+        service.archive();
+
+        // Then
+        assertFalse(taskRepository.existsById(old.getId()));
+        assertFalse(taskRepository.existsById(older.getId()));
+        assertTrue(taskRepository.existsById(recent.getId()));
+        assertTrue(taskRepository.existsById(open.getId()));
+        assertEquals(List.of(older.getId(), old.getId()), service.list(null, 10).items().stream().map(Task::getId).toList());
+        Task archived = service.get(old.getId());
+        assertTrue(archived.isCompleted());
+        assertEquals("Done long ago", archived.getDescription());
+        assertEquals(old.getVersion(), archived.getVersion());
+        assertEquals(List.of(old.getId(), older.getId()),
+                ids("SELECT task_id FROM task_events WHERE type = 'ARCHIVED' ORDER BY task_id"));
+        assertNull(cacheManager.getCache(CacheConfig.TASKS).get(old.getId()));
+    }
+
+    @Test
+    void testList_PagesArchivedTasksByDueDate() {
+        // Given
+        for (int day = 1; day <= 3; day++) {
+            save("Archived " + day, "2030-01-0" + day + "T10:00:00Z", true, 40);
+        }
+        TaskArchiveService service = newService(1000);
+        assertEquals(3, service.archiveCompletedBefore(OffsetDateTime.now().minusDays(30)));
+
+        // When
+        TaskPage first = service.list(null, 2);
+        TaskPage second = service.list(first.next(), 2);
+
+        // Then
+        assertEquals(List.of("Archived 1", "Archived 2"), first.items().stream().map(Task::getDescription).toList());
+        assertEquals(List.of("Archived 3"), second.items().stream().map(Task::getDescription).toList());
+        assertNull(second.next());
+        assertThrows(IllegalArgumentException.class, () -> service.get(999_999L));
+    }
+
+    @Test
+    void testArchive_StopsAfterMaxBatchesAndResumesNextRun() {
+        // Given
+        long before = taskRepository.count();
+        for (int day = 1; day <= 3; day++) {
+            save("Archived " + day, "2030-01-0" + day + "T10:00:00Z", true, 40);
+        }
+        TaskArchiveService service = newService(1, 2);
+
+        // When
+        service.archive();
+
+        // Then - two batches of one, then the next run takes the rest
+        assertEquals(before + 1, taskRepository.count());
+        service.archive();
+        assertEquals(before, taskRepository.count());
+        assertEquals(3, service.list(null, 10).items().size());
+    }
+
+    private TaskArchiveService newService(int batchSize) {
+        return newService(batchSize, 10);
+    }
+
+    private TaskArchiveService newService(int batchSize, int maxBatches) {
+        return new TaskArchiveService(archiveRepository, eventRepository, changeRepository, transactionTemplate,
+                cacheManager, true, Duration.ofDays(30), batchSize, maxBatches);
+    }
+
+    private Task save(String description, String dueDate, boolean completed, int daysSinceChange) {
+        Task task = new Task(description, OffsetDateTime.parse(dueDate));
+        task.setCompleted(completed);
+        Task saved = taskRepository.saveAndFlush(task);
+        jdbcTemplate.update("UPDATE tasks SET updated_at = ? WHERE id = ?",
+                OffsetDateTime.now().minusDays(daysSinceChange), saved.getId());
+        return saved;
+    }
+
+    private List<Long> ids(String sql) {
+        return jdbcTemplate.queryForList(sql, Long.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskChangeRepository;
+import com.slmakomazi.tasklist.repository.TaskEventRepository;
+import com.slmakomazi.tasklist.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TaskBulkService.class, TaskChangeRepository.class, TaskEventRepository.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@TestPropertySource(properties = "tasklist.bulk.batch-size=2")
+class TaskBulkServiceTest {
+
+    @Autowired
+    private TaskBulkService bulkService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void testIngest_JsonArrayAcrossSeveralBatches() throws IOException {
+        // Given - five items with a batch size of two
+        String body = """
+                [
+                  {"description": "one",   "dueDate": "2030-01-01T10:00:00Z"},
+                  {"description": "two",   "dueDate": "2030-01-02T10:00:00Z"},
+                  {"description": "three", "dueDate": "2030-01-03T10:00:00Z"},
+                  {"description": "four",  "dueDate": "2030-01-04T10:00:00Z", "completed": true},
+                  {"description": "five",  "dueDate": "2030-01-05T10:00:00Z"}
+                ]
+                """;
+
+        // When
+        BulkInsertResult result = bulkService.ingest(stream(body));
+
+        // Then
+        assertEquals(5, result.accepted());
+        assertEquals(0, result.rejected());
+        assertEquals(5, result.ids().size());
+        List<Task> stored = taskRepository.findAllById(result.ids());
+        assertEquals(5, stored.size());
+        assertEquals("four", taskRepository.findById(result.ids().get(3)).orElseThrow().getDescription());
+        assertEquals(1, taskRepository.findByCompleted(true).size());
+    }
+
+    @Test
+    void testIngest_NdjsonWithInvalidItems() throws IOException {
+        // Given
+        String body = """
+                {"description": "valid", "dueDate": "2030-01-01T10:00:00Z"}
+                {"description": "", "dueDate": "2030-01-01T10:00:00Z"}
+                {"description": "no due date"}
+                {"description": "also valid", "dueDate": "2030-01-02T10:00:00Z"}
+                """;
+
+        // When
+        BulkInsertResult result = bulkService.ingest(stream(body));
+
+        // Then
+        assertEquals(2, result.accepted());
+        assertEquals(2, result.rejected());
+        assertEquals(List.of(1, 2), result.errors().stream().map(BulkInsertResult.ItemError::index).toList());
+        assertTrue(result.errors().get(0).message().startsWith("description"));
+        assertTrue(result.errors().get(1).message().startsWith("dueDate"));
+        assertEquals(2, taskRepository.count());
+    }
+
+    @Test
+    void testIngest_MalformedJsonStopsButKeepsEarlierItems() throws IOException {
+        // Given
+        String body = """
+                {"description": "valid", "dueDate": "2030-01-01T10:00:00Z"}
+                {"description": "broken", "dueDate":
+                """;
+
+        // When
+        BulkInsertResult result = bulkService.ingest(stream(body));
+
+        // Then
+        assertEquals(1, result.accepted());
+        assertEquals(1, result.rejected());
+        assertEquals(1, result.errors().get(0).index());
+        assertTrue(result.errors().get(0).message().startsWith("Malformed item"));
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,95 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.config.CacheConfig;
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskFilter;
+import com.slmakomazi.tasklist.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskCacheTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @SpyBean
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void testList_SecondCallIsServedFromCache() {
+        // Given
+        taskService.create(new Task("Cached task", OffsetDateTime.now().plusDays(1)));
+
+        // When
+        TaskPage first = taskService.list(TaskFilter.completed(false), null, 10, 0L);
+        TaskPage second = taskService.list(TaskFilter.completed(false), null, 10, 0L);
+
+        // Then
+        assertSame(first, second);
+        verify(taskRepository, times(1)).findByCompletedOrderByDueDateAscIdAsc(eq(false), any());
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", CacheConfig.TASK_LISTS).tag("result", "hit")
+                .functionCounter().count() >= 1);
+    }
+
+    @Test
+    void testCreate_InvalidatesListPages() {
+        // Given
+        taskService.create(new Task("First", OffsetDateTime.now().plusDays(1)));
+        assertEquals(1, taskService.list(TaskFilter.ALL, null, 10, 0L).items().size());
+
+        // When
+        taskService.create(new Task("Second", OffsetDateTime.now().plusDays(2)));
+
+        // Then
+        assertEquals(2, taskService.list(TaskFilter.ALL, null, 10, 0L).items().size());
+    }
+
+    @Test
+    void testMarkCompleted_InvalidatesTaskAndListPages() {
+        // Given
+        Task task = taskService.create(new Task("To complete", OffsetDateTime.now().plusDays(1)));
+        assertFalse(taskService.get(task.getId()).isCompleted());
+        assertEquals(1, taskService.list(TaskFilter.completed(false), null, 10, 0L).items().size());
+
+        // When
+        taskService.markCompleted(task.getId());
+
+        // Then
+        assertTrue(taskService.get(task.getId()).isCompleted());
+        assertTrue(taskService.list(TaskFilter.completed(false), null, 10, 0L).items().isEmpty());
+    }
+
+    @Test
+    void testGet_MissingTaskIsNotCached() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.get(12345L));
+        assertThrows(IllegalArgumentException.class, () -> taskService.get(12345L));
+
+        verify(taskRepository, times(2)).findById(12345L);
+    }
+}
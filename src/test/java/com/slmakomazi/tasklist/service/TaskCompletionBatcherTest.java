@@ -0,0 +1,133 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskCompletionBatcherTest {
+
+    private final TaskService service = mock(TaskService.class);
+    private TaskCompletionBatcher batcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (batcher != null) {
+            batcher.destroy();
+        }
+    }
+
+    @Test
+    void testComplete_CoalescesBatchIntoOneWrite() throws Exception {
+        // Given - a batch of three requests for two tasks, and no interval to cut it short
+        Task first = task(1L);
+        Task second = task(2L);
+        when(service.markCompletedBatch(Set.of(1L, 2L))).thenReturn(Map.of(1L, first, 2L, second));
+        batcher = new TaskCompletionBatcher(service, true, 3, Duration.ofSeconds(30), 10);
+
+        // When
+        CompletableFuture<Task> a = batcher.complete(1L);
+        CompletableFuture<Task> b = batcher.complete(1L);
+        CompletableFuture<Task> c = batcher.complete(2L);
+
+        // Then
+        assertSame(first, a.get(5, TimeUnit.SECONDS));
+        assertSame(first, b.get(5, TimeUnit.SECONDS));
+        assertSame(second, c.get(5, TimeUnit.SECONDS));
+        verify(service, times(1)).markCompletedBatch(Set.of(1L, 2L));
+        verify(service, never()).markCompleted(anyLong());
+    }
+
+    @Test
+    void testComplete_FlushesPartialBatchAfterInterval() throws Exception {
+        // Given
+        when(service.markCompletedBatch(Set.of(1L, 999L))).thenReturn(Map.of(1L, task(1L)));
+        batcher = new TaskCompletionBatcher(service, true, 500, Duration.ofMillis(50), 1000);
+
+        // When
+        CompletableFuture<Task> found = batcher.complete(1L);
+        CompletableFuture<Task> missing = batcher.complete(999L);
+
+        // Then
+        assertEquals(1L, found.get(5, TimeUnit.SECONDS).getId());
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> missing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+    }
+
+    @Test
+    void testComplete_FullQueueCompletesDirectly() throws Exception {
+        // Given - the flusher is stuck writing task 1 and task 2 fills the queue
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(service.markCompletedBatch(Set.of(1L))).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return Map.of(1L, task(1L));
+        });
+        when(service.markCompletedBatch(Set.of(2L))).thenReturn(Map.of(2L, task(2L)));
+        when(service.markCompleted(3L)).thenReturn(task(3L));
+        batcher = new TaskCompletionBatcher(service, true, 1, Duration.ZERO, 1);
+        CompletableFuture<Task> first = batcher.complete(1L);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Task> queued = batcher.complete(2L);
+
+        // When
+        CompletableFuture<Task> overflow = batcher.complete(3L);
+
+        // Then
+        assertTrue(overflow.isDone());
+        assertEquals(3L, overflow.get().getId());
+        assertFalse(queued.isDone());
+        release.countDown();
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(2L, queued.get(5, TimeUnit.SECONDS).getId());
+    }
+
+    @Test
+    void testDestroy_FlushesQueuedCompletions() throws Exception {
+        // Given
+        when(service.markCompletedBatch(Set.of(1L))).thenReturn(Map.of(1L, task(1L)));
+        when(service.markCompleted(2L)).thenReturn(task(2L));
+        batcher = new TaskCompletionBatcher(service, true, 500, Duration.ofSeconds(30), 1000);
+        CompletableFuture<Task> queued = batcher.complete(1L);
+
+        // When
+        batcher.destroy();
+
+        // Then
+        assertEquals(1L, queued.getNow(null).getId());
+        assertEquals(2L, batcher.complete(2L).getNow(null).getId());
+    }
+
+    @Test
+    void testComplete_DisabledCompletesDirectly() {
+        // Given
+        when(service.markCompleted(1L)).thenReturn(task(1L));
+        when(service.markCompleted(999L)).thenThrow(new IllegalArgumentException("Task not found: 999"));
+        batcher = new TaskCompletionBatcher(service, false, 500, Duration.ofMillis(10), 1000);
+
+        // When & Then
+        assertEquals(1L, batcher.complete(1L).getNow(null).getId());
+        assertTrue(batcher.complete(999L).isCompletedExceptionally());
+        verify(service, never()).markCompletedBatch(any());
+    }
+
+    private static Task task(Long id) {
+        Task task = new Task("Task " + id, OffsetDateTime.now().plusDays(1));
+        task.setId(id);
+        task.setCompleted(true);
+        return task;
+    }
+}
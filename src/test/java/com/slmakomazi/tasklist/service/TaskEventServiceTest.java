@@ -0,0 +1,78 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import com.slmakomazi.tasklist.repository.TaskEventRelay;
+import com.slmakomazi.tasklist.repository.TaskEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskEventServiceTest {
+
+    @Mock
+    private TaskEventRepository taskEventRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private TaskEventService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TaskEventService(taskEventRepository, transactionTemplate, Runnable::run, 2, Duration.ofDays(7));
+    }
+
+    @Test
+    void testChanges_WithoutSinceStartsAtCurrentPosition() {
+        // Given
+        when(taskEventRepository.relay()).thenReturn(new TaskEventRelay(42L, 10L));
+
+        // When / Then
+        assertEquals(new TaskEventPage(List.of(), 42L), service.changes(null, 100));
+        assertThrows(TaskEventsExpiredException.class, () -> service.changes(9L, 100));
+        assertThrows(IllegalArgumentException.class, () -> service.changes(43L, 100));
+        verify(taskEventRepository, never()).findAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    void testRelay_NumbersBatchesAndWakesLongPoll() {
+        // Given - three pending events with a batch size of two
+        when(taskEventRepository.relay()).thenReturn(new TaskEventRelay(5L, 0L));
+        when(taskEventRepository.findAfter(5L, 100)).thenReturn(List.of());
+        CompletableFuture<TaskEventPage> poll = service.changes(5L, 100, Duration.ofSeconds(10));
+        assertFalse(poll.isDone());
+
+        TaskEvent event = new TaskEvent(6L, 1L, TaskEvent.Type.CREATED, OffsetDateTime.now(), null);
+        when(taskEventRepository.findUnpublished(1)).thenReturn(List.of(11L), List.of(13L), List.of());
+        when(taskEventRepository.findUnpublished(2)).thenReturn(List.of(11L, 12L), List.of(13L));
+        when(taskEventRepository.lockRelay()).thenReturn(5L, 7L);
+        when(taskEventRepository.publish(List.of(11L, 12L), 5L)).thenReturn(7L);
+        when(taskEventRepository.publish(List.of(13L), 7L)).thenReturn(8L);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(taskEventRepository.findAfter(5L, 100)).thenReturn(List.of(event));
+
+        // When
+        service.relay();
+
+        // Then
+        verify(taskEventRepository).publish(List.of(11L, 12L), 5L);
+        verify(taskEventRepository).publish(List.of(13L), 7L);
+        assertTrue(poll.isDone());
+        assertEquals(new TaskEventPage(List.of(event), 6L), poll.join());
+    }
+}
@@ -0,0 +1,111 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskDeadlineRepository;
+import com.slmakomazi.tasklist.repository.TaskEventRepository;
+import com.slmakomazi.tasklist.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TaskDeadlineRepository.class, TaskEventRepository.class})
+class TaskReminderServiceTest {
+
+    @Autowired
+    private TaskDeadlineRepository deadlineRepository;
+
+    @Autowired
+    private TaskEventRepository eventRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testClaim_FiresDueDeadlinesNowAndLaterOnesFromTheWheel() throws InterruptedException {
+        // Given - reminders 10 minutes ahead, claimed one minute out
+        OffsetDateTime now = OffsetDateTime.now();
+        Task pastDue = save("Past due", now.minusHours(1), false);
+        Task dueSoon = save("Due in 5 minutes", now.plusMinutes(5), false);
+        Task remindShortly = save("Reminder in half a second", now.plusMinutes(10).plusNanos(500_000_000), false);
+        save("Due tomorrow", now.plusDays(1), false);
+        save("Done already", now.minusHours(1), true);
+        TaskReminderService service = newNode();
+
+        // When
+        service.claim();
+
+        // Then
+        assertEquals(Map.of(pastDue.getId(), "OVERDUE", dueSoon.getId(), "DUE_SOON"), events());
+        assertEquals(1, service.pending());
+
+        // When - the wheel reaches the last reminder
+        for (int i = 0; i < 100 && service.pending() > 0; i++) {
+            Thread.sleep(50);
+            service.tick();
+        }
+
+        // Then
+        assertEquals(Map.of(pastDue.getId(), "OVERDUE", dueSoon.getId(), "DUE_SOON", remindShortly.getId(), "DUE_SOON"), events());
+        TaskReminderService otherNode = newNode();
+        otherNode.claim();
+        assertEquals(0, otherNode.pending());
+        assertEquals(3, events().size());
+    }
+
+    @Test
+    void testTick_SkipsTasksCompletedWhileWaiting() throws InterruptedException {
+        // Given
+        Task task = save("Completed before its reminder", OffsetDateTime.now().plusMinutes(10).plusNanos(300_000_000), false);
+        TaskReminderService service = newNode();
+        service.claim();
+        assertEquals(1, service.pending());
+
+        // When
+        jdbcTemplate.update("UPDATE tasks SET completed = true WHERE id = ?", task.getId());
+        for (int i = 0; i < 100 && service.pending() > 0; i++) {
+            Thread.sleep(50);
+            service.tick();
+        }
+
+        // Then
+        assertEquals(0, service.pending());
+        assertEquals(Map.of(), events());
+    }
+
+    private TaskReminderService newNode() {
+        return new TaskReminderService(deadlineRepository, eventRepository, transactionTemplate, true,
+                Duration.ofMinutes(10), Duration.ofMinutes(1), Duration.ofMinutes(1), 2, Duration.ofMillis(10));
+    }
+
+    private Task save(String description, OffsetDateTime dueDate, boolean completed) {
+        Task task = new Task(description, dueDate);
+        task.setCompleted(completed);
+        return taskRepository.saveAndFlush(task);
+    }
+
+    private Map<Long, String> events() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT task_id, type FROM task_events WHERE type IN ('DUE_SOON', 'OVERDUE')");
+        return rows.stream().collect(Collectors.toMap(
+                row -> ((Number) row.get("TASK_ID")).longValue(), row -> (String) row.get("TYPE")));
+    }
+}
@@ -1,18 +1,33 @@
 package com.slmakomazi.tasklist.service;
 
 import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskChangeRepository;
+import com.slmakomazi.tasklist.repository.TaskEvent;
+import com.slmakomazi.tasklist.repository.TaskEventRepository;
+import com.slmakomazi.tasklist.repository.TaskFilter;
 import com.slmakomazi.tasklist.repository.TaskRepository;
+import com.slmakomazi.tasklist.repository.TaskSearchHit;
+import com.slmakomazi.tasklist.repository.TaskSearchRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -24,6 +39,18 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskChangeRepository taskChangeRepository;
+
+    @Mock
+    private TaskSearchRepository taskSearchRepository;
+
+    @Mock
+    private TaskEventRepository taskEventRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -54,61 +81,177 @@ class TaskServiceTest {
         assertEquals(testTask.getId(), result.getId());
         assertEquals(testTask.getDescription(), result.getDescription());
         verify(taskRepository, times(1)).save(testTask);
+        verify(taskEventRepository).append(eq(TaskEvent.Type.CREATED), eq(List.of(1L)), any(OffsetDateTime.class));
+        verify(taskChangeRepository, times(1)).recordChange();
     }
 
     @Test
     void testList_AllTasks() {
         // Given
         List<Task> allTasks = Arrays.asList(testTask, completedTask);
-        when(taskRepository.findAll()).thenReturn(allTasks);
+        when(taskRepository.findByOrderByDueDateAscIdAsc(Limit.of(11))).thenReturn(allTasks);
 
         // When
-        List<Task> result = taskService.list(null);
+        TaskPage result = taskService.list(TaskFilter.ALL, null, 10, 0L);
 
         // Then
         assertNotNull(result);
-        assertEquals(2, result.size());
-        verify(taskRepository, times(1)).findAll();
-        verify(taskRepository, never()).findByCompleted(anyBoolean());
+        assertEquals(2, result.items().size());
+        assertNull(result.next());
+        verify(taskRepository, never()).findAll();
+        verify(taskRepository, never()).findByCompletedOrderByDueDateAscIdAsc(anyBoolean(), any());
     }
 
     @Test
     void testList_CompletedTasksOnly() {
         // Given
-        when(taskRepository.findByCompleted(true)).thenReturn(Arrays.asList(completedTask));
+        when(taskRepository.findByCompletedOrderByDueDateAscIdAsc(true, Limit.of(11)))
+                .thenReturn(Arrays.asList(completedTask));
 
         // When
-        List<Task> result = taskService.list(true);
+        TaskPage result = taskService.list(TaskFilter.completed(true), null, 10, 0L);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertTrue(result.get(0).isCompleted());
-        verify(taskRepository, times(1)).findByCompleted(true);
-        verify(taskRepository, never()).findAll();
+        assertEquals(1, result.items().size());
+        assertTrue(result.items().get(0).isCompleted());
+        verify(taskRepository, never()).findByOrderByDueDateAscIdAsc(any());
     }
 
     @Test
     void testList_PendingTasksOnly() {
         // Given
-        when(taskRepository.findByCompleted(false)).thenReturn(Arrays.asList(testTask));
+        when(taskRepository.findByCompletedOrderByDueDateAscIdAsc(false, Limit.of(11)))
+                .thenReturn(Arrays.asList(testTask));
 
         // When
-        List<Task> result = taskService.list(false);
+        TaskPage result = taskService.list(TaskFilter.completed(false), null, 10, 0L);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertFalse(result.get(0).isCompleted());
-        verify(taskRepository, times(1)).findByCompleted(false);
-        verify(taskRepository, never()).findAll();
+        assertEquals(1, result.items().size());
+        assertFalse(result.items().get(0).isCompleted());
+        verify(taskRepository, never()).findByOrderByDueDateAscIdAsc(any());
     }
 
     @Test
-    void testMarkCompleted_TaskExistsAndNotCompleted() {
+    void testSearch_FullPageReturnsCursorOfLastHit() {
+        // Given
+        when(taskSearchRepository.search("test", null, null, 2))
+                .thenReturn(List.of(new TaskSearchHit(testTask, 0.5f), new TaskSearchHit(completedTask, 0.25f)));
+
+        // When
+        TaskPage result = taskService.search("  test ", null, 1);
+
+        // Then
+        assertEquals(List.of(testTask), result.items());
+        SearchCursor next = SearchCursor.decode(result.next());
+        assertEquals(0.5f, next.score());
+        assertEquals(testTask.getId(), next.id());
+    }
+
+    @Test
+    void testSearch_WithCursorResumesAfterHit() {
+        // Given
+        String cursor = new SearchCursor(0.5f, 1L).encode();
+        when(taskSearchRepository.search("test", 0.5f, 1L, 11)).thenReturn(List.of());
+
+        // When
+        TaskPage result = taskService.search("test", cursor, 10);
+
+        // Then
+        assertTrue(result.items().isEmpty());
+        assertNull(result.next());
+    }
+
+    @Test
+    void testSearch_BlankQueryIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.search(" ", null, 10));
+        verifyNoInteractions(taskSearchRepository);
+    }
+
+    @Test
+    void testList_FullPageReturnsCursorOfLastItem() {
+        // Given - one row more than the limit means another page exists
+        when(taskRepository.findByOrderByDueDateAscIdAsc(Limit.of(2)))
+                .thenReturn(Arrays.asList(testTask, completedTask));
+
+        // When
+        TaskPage result = taskService.list(TaskFilter.ALL, null, 1, 0L);
+
+        // Then
+        assertEquals(1, result.items().size());
+        assertEquals(TaskCursor.after(testTask).encode(), result.next());
+    }
+
+    @Test
+    void testList_WithCursorUsesKeysetQuery() {
+        // Given
+        String cursor = TaskCursor.after(testTask).encode();
+        when(taskRepository.findPageAfter(false, testTask.getDueDate(), testTask.getId(), Limit.of(11)))
+                .thenReturn(List.of());
+
+        // When
+        TaskPage result = taskService.list(TaskFilter.completed(false), cursor, 10, 0L);
+
+        // Then
+        assertTrue(result.items().isEmpty());
+        assertNull(result.next());
+    }
+
+    @Test
+    void testList_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.list(TaskFilter.ALL, "not-a-cursor", 10, 0L));
+    }
+
+    @Test
+    void testList_LimitIsClamped() {
+        // When
+        taskService.list(TaskFilter.ALL, null, 1_000_000, 0L);
+
+        // Then
+        verify(taskRepository).findByOrderByDueDateAscIdAsc(Limit.of(TaskService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testStream_DetachesEachTask() {
+        // Given
+        when(taskRepository.streamAll()).thenReturn(Stream.of(testTask, completedTask));
+        List<Task> seen = new ArrayList<>();
+
+        // When
+        taskService.stream(null, seen::add);
+
+        // Then
+        assertEquals(List.of(testTask, completedTask), seen);
+        verify(entityManager).detach(testTask);
+        verify(entityManager).detach(completedTask);
+    }
+
+    @Test
+    void testGet_TaskExists() {
         // Given
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
-        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+
+        // When & Then
+        assertSame(testTask, taskService.get(1L));
+    }
+
+    @Test
+    void testGet_TaskNotFound() {
+        // Given
+        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> taskService.get(999L));
+    }
+
+    @Test
+    void testMarkCompleted_TaskExistsAndNotCompleted() {
+        // Given - the conditional UPDATE hits one row, the read-back sees it completed
+        when(taskRepository.markCompleted(1L)).thenReturn(1);
+        testTask.setCompleted(true);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
 
         // When
         Task result = taskService.markCompleted(1L);
@@ -116,13 +259,16 @@ class TaskServiceTest {
         // Then
         assertNotNull(result);
         assertTrue(result.isCompleted());
-        verify(taskRepository, times(1)).findById(1L);
-        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskRepository, times(1)).markCompleted(1L);
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskEventRepository).append(eq(TaskEvent.Type.COMPLETED), eq(List.of(1L)), any(OffsetDateTime.class));
+        verify(taskChangeRepository, times(1)).recordChange();
     }
 
     @Test
     void testMarkCompleted_TaskExistsAndAlreadyCompleted() {
         // Given
+        when(taskRepository.markCompleted(2L)).thenReturn(0);
         when(taskRepository.findById(2L)).thenReturn(Optional.of(completedTask));
 
         // When
@@ -133,11 +279,14 @@ class TaskServiceTest {
         assertTrue(result.isCompleted());
         verify(taskRepository, times(1)).findById(2L);
         verify(taskRepository, never()).save(any(Task.class));
+        verifyNoInteractions(taskEventRepository);
+        verify(taskChangeRepository, never()).recordChange();
     }
 
     @Test
     void testMarkCompleted_TaskNotFound() {
         // Given
+        when(taskRepository.markCompleted(999L)).thenReturn(0);
         when(taskRepository.findById(999L)).thenReturn(Optional.empty());
 
         // When & Then
@@ -152,16 +301,85 @@ class TaskServiceTest {
     }
 
     @Test
-    void testMarkCompleted_TaskBecomesCompleted() {
+    void testMarkAllCompleted_ClassifiesIds() {
+        // Given - 1 is open, 2 is already done, 999 does not exist
+        when(taskRepository.lockCompletionStates(List.of(1L, 2L, 999L)))
+                .thenReturn(List.of(state(1L, false), state(2L, true)));
+
+        // When
+        BulkCompleteResult result = taskService.markAllCompleted(List.of(1L, 2L, 999L, 1L));
+
+        // Then
+        assertEquals(List.of(1L), result.completed());
+        assertEquals(List.of(2L), result.alreadyCompleted());
+        assertEquals(List.of(999L), result.missing());
+        verify(taskRepository, times(1)).markAllCompleted(List.of(1L));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void testMarkAllCompleted_NothingOpenSkipsUpdate() {
         // Given
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.lockCompletionStates(List.of(2L))).thenReturn(List.of(state(2L, true)));
 
         // When
-        Task result = taskService.markCompleted(1L);
+        BulkCompleteResult result = taskService.markAllCompleted(List.of(2L));
 
         // Then
-        assertNotNull(result);
-        assertTrue(result.isCompleted());
-        assertEquals("Test task", result.getDescription());
+        assertTrue(result.completed().isEmpty());
+        verify(taskRepository, never()).markAllCompleted(any());
+    }
+
+    @Test
+    void testMarkCompletedBatch_OneUpdateAndTasksReadBack() {
+        // Given
+        Set<Long> ids = new LinkedHashSet<>(List.of(1L, 2L, 999L));
+        when(taskRepository.lockCompletionStates(List.of(1L, 2L, 999L)))
+                .thenReturn(List.of(state(1L, false), state(2L, true)));
+        when(taskRepository.findAllById(ids)).thenReturn(List.of(testTask, completedTask));
+
+        // When
+        Map<Long, Task> result = taskService.markCompletedBatch(ids);
+
+        // Then
+        assertEquals(Map.of(1L, testTask, 2L, completedTask), result);
+        verify(taskRepository, times(1)).markAllCompleted(List.of(1L));
+        verify(taskRepository, never()).markCompleted(anyLong());
+        verify(taskEventRepository).append(eq(TaskEvent.Type.COMPLETED), eq(List.of(1L)), any(OffsetDateTime.class));
+        verify(taskChangeRepository, times(1)).recordChange();
+    }
+
+    @Test
+    void testMarkAllCompletedDueBefore_ReadsIdsAChunkAtATime() {
+        // Given - one full chunk of ids and one more after it
+        OffsetDateTime cutoff = OffsetDateTime.now();
+        List<Long> first = LongStream.rangeClosed(1, TaskService.COMPLETE_CHUNK_SIZE).boxed().toList();
+        long last = TaskService.COMPLETE_CHUNK_SIZE;
+        when(taskRepository.findOpenIdsDueBefore(cutoff, 0L, Limit.of(TaskService.COMPLETE_CHUNK_SIZE))).thenReturn(first);
+        when(taskRepository.findOpenIdsDueBefore(cutoff, last, Limit.of(TaskService.COMPLETE_CHUNK_SIZE)))
+                .thenReturn(List.of(last + 1));
+        when(taskRepository.lockCompletionStates(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> state(id, false)).toList();
+        });
+
+        // When
+        BulkCompleteResult result = taskService.markAllCompletedDueBefore(cutoff);
+
+        // Then
+        assertEquals(TaskService.COMPLETE_CHUNK_SIZE + 1, result.completed().size());
+        verify(taskRepository, times(1)).markAllCompleted(first);
+        verify(taskRepository, times(1)).markAllCompleted(List.of(last + 1));
+        verify(taskChangeRepository, times(1)).recordChange();
+    }
+
+    private static TaskRepository.CompletionState state(Long id, boolean completed) {
+        return new TaskRepository.CompletionState() {
+            @Override
+            public Long getId() { return id; }
+
+            @Override
+            public boolean isCompleted() { return completed; }
+        };
     }
 }
@@ -0,0 +1,80 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.repository.DueDateCount;
+import com.slmakomazi.tasklist.repository.TaskStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatsServiceTest {
+
+    @Mock
+    private TaskStatsRepository taskStatsRepository;
+
+    @Test
+    void testStats_FoldsDaysIntoWeeks() {
+        // Given - two days of this week, one of next week, and everything outside the window
+        LocalDate monday = StatsBucket.WEEK.start(LocalDate.now(ZoneOffset.UTC));
+        when(taskStatsRepository.countByDueDay(any(), any(), any())).thenReturn(List.of(
+                new DueDateCount(monday, 2, 1, 0),
+                new DueDateCount(monday.plusDays(6), 1, 0, 0),
+                new DueDateCount(monday.plusDays(7), 3, 3, 0),
+                new DueDateCount(null, 4, 1, 2)));
+        TaskStatsService service = new TaskStatsService(taskStatsRepository, Duration.ZERO, 2);
+
+        // When
+        TaskStats stats = service.stats(StatsBucket.WEEK);
+
+        // Then
+        assertEquals(10, stats.total());
+        assertEquals(5, stats.completed());
+        assertEquals(5, stats.open());
+        assertEquals(2, stats.overdue());
+        assertEquals(List.of(new TaskStats.DueBucket(monday, 2, 1), new TaskStats.DueBucket(monday.plusDays(7), 0, 3)),
+                stats.dueDates());
+    }
+
+    @Test
+    void testStats_ServesSnapshotWithinStalenessBound() {
+        // Given
+        when(taskStatsRepository.countByDueDay(any(), any(), any())).thenReturn(List.of());
+        TaskStatsService service = new TaskStatsService(taskStatsRepository, Duration.ofMinutes(1), 14);
+        service.refresh();
+        clearInvocations(taskStatsRepository);
+
+        // When
+        TaskStats stats = service.stats(StatsBucket.DAY);
+
+        // Then
+        assertEquals(14, stats.dueDates().size());
+        assertFalse(stats.computedAt().isAfter(OffsetDateTime.now()));
+        verifyNoInteractions(taskStatsRepository);
+    }
+
+    @Test
+    void testStats_WithoutStalenessBoundAlwaysQueries() {
+        // Given
+        when(taskStatsRepository.countByDueDay(any(), any(), any())).thenReturn(List.of());
+        TaskStatsService service = new TaskStatsService(taskStatsRepository, Duration.ZERO, 14);
+
+        // When
+        service.refresh();
+        service.stats(StatsBucket.DAY);
+        service.stats(StatsBucket.DAY);
+
+        // Then
+        verify(taskStatsRepository, times(2)).countByDueDay(any(), any(), any());
+    }
+}
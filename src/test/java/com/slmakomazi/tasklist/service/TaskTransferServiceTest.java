@@ -0,0 +1,117 @@
+package com.slmakomazi.tasklist.service;
+
+import com.slmakomazi.tasklist.model.Task;
+import com.slmakomazi.tasklist.repository.TaskChangeRepository;
+import com.slmakomazi.tasklist.repository.TaskEventRepository;
+import com.slmakomazi.tasklist.repository.TaskRepository;
+import com.slmakomazi.tasklist.repository.TaskSearchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TaskTransferService.class, TaskService.class, TaskBulkService.class, TaskChangeRepository.class,
+        TaskEventRepository.class, TaskSearchRepository.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@TestPropertySource(properties = "tasklist.bulk.batch-size=2")
+class TaskTransferServiceTest {
+
+    @Autowired
+    private TaskTransferService transferService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void testExport_CsvRoundTripsThroughImport() throws IOException {
+        // Given - a description that has to be quoted
+        Task call = save("Call Bob, then \"Alice\"", "2030-01-01T10:00:00Z", true);
+        save("Write report", "2030-01-02T10:00:00Z", false);
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = transferService.export(null, TaskTransferService.Format.CSV, out);
+        TaskImportResult imported = transferService.importTasks(TaskTransferService.Format.CSV,
+                new ByteArrayInputStream(out.toByteArray()));
+
+        // Then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, exported);
+        assertEquals("id,description,dueDate,completed,version,updatedAt", lines.get(0));
+        assertTrue(lines.get(1).startsWith(call.getId() + ",\"Call Bob, then \"\"Alice\"\"\",2030-01-01T10:00:00Z,true,"));
+        assertEquals(2, imported.imported());
+        assertEquals(0, imported.rejected());
+        List<Task> copies = taskRepository.findAll().stream()
+                .filter(task -> task.getDescription().equals(call.getDescription()))
+                .toList();
+        assertEquals(2, copies.size());
+        assertTrue(copies.stream().allMatch(Task::isCompleted));
+    }
+
+    @Test
+    void testImport_CsvColumnsByHeaderWithRejectedRows() throws IOException {
+        // Given - any column order, an unknown column and an empty description
+        String body = """
+                completed,dueDate,description,notes
+                true,2030-01-01T10:00:00Z,Imported one,first
+                false,2030-01-02T10:00:00Z,,blank
+                ,2030-01-03T10:00:00Z,Imported two,
+                """;
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        transferService.bindTo(registry);
+
+        // When
+        TaskImportResult result = transferService.importTasks(TaskTransferService.Format.CSV,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertEquals(2, result.imported());
+        assertEquals(1, result.rejected());
+        assertEquals(1, result.errors().get(0).index());
+        assertTrue(result.errors().get(0).message().startsWith("description"));
+        assertEquals(List.of("Imported one"), taskRepository.findByCompleted(true).stream().map(Task::getDescription).toList());
+        assertEquals(2.0, registry.get("tasklist.transfer.rows")
+                .tags("direction", "import", "format", "csv").functionCounter().count());
+    }
+
+    @Test
+    void testExport_NdjsonOneTaskPerLine() throws IOException {
+        // Given
+        save("Open", "2030-01-01T10:00:00Z", false);
+        save("Done", "2030-01-02T10:00:00Z", true);
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = transferService.export(false, TaskTransferService.Format.NDJSON, out);
+
+        // Then
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertEquals(1, exported);
+        assertTrue(body.endsWith("\n"));
+        assertEquals(1, body.lines().count());
+        assertTrue(body.contains("\"description\":\"Open\""));
+    }
+
+    private Task save(String description, String dueDate, boolean completed) {
+        Task task = new Task(description, OffsetDateTime.parse(dueDate));
+        task.setCompleted(completed);
+        return taskRepository.saveAndFlush(task);
+    }
+}
@@ -0,0 +1,62 @@
+package com.slmakomazi.tasklist.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void testAdvance_FiresEachItemAtItsTickAcrossLevels() {
+        // Given - 10ms ticks, 4 buckets a level: levels of 40ms, 160ms, 640ms...
+        TimingWheel<String> wheel = new TimingWheel<>(10, 4, 1_000);
+        List<String> fired = new ArrayList<>();
+        assertTrue(wheel.schedule(1_025, "level 0"));
+        assertTrue(wheel.schedule(1_130, "level 1"));
+        assertTrue(wheel.schedule(3_001, "level 3"));
+        assertTrue(wheel.schedule(1_130, "same tick"));
+        assertFalse(wheel.schedule(1_000, "already due"));
+
+        // When / Then - never early, and by the end of the deadline's tick
+        wheel.advance(1_029, fired::add);
+        assertEquals(List.of(), fired);
+        wheel.advance(1_030, fired::add);
+        assertEquals(List.of("level 0"), fired);
+        wheel.advance(1_129, fired::add);
+        assertEquals(1, fired.size());
+        wheel.advance(1_130, fired::add);
+        assertEquals(List.of("level 0", "level 1", "same tick"), fired);
+        wheel.advance(3_000, fired::add);
+        assertEquals(3, fired.size());
+        assertEquals(1, wheel.size());
+        wheel.advance(5_000, fired::add);
+        assertEquals(List.of("level 0", "level 1", "same tick", "level 3"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_ManyItemsFireInDeadlineOrder() {
+        // Given
+        TimingWheel<Long> wheel = new TimingWheel<>(100, 64, 0);
+        for (long deadline = 120_000; deadline > 0; deadline -= 7) {
+            wheel.schedule(deadline, deadline);
+        }
+        int scheduled = wheel.size();
+
+        // When
+        List<Long> fired = new ArrayList<>();
+        for (long now = 0; now <= 120_000; now += 1_000) {
+            wheel.advance(now, fired::add);
+        }
+
+        // Then
+        assertEquals(0, wheel.size());
+        assertEquals(scheduled, fired.size());
+        for (int i = 1; i < fired.size(); i++) {
+            assertTrue(Math.ceilDiv(fired.get(i - 1), 100) <= Math.ceilDiv(fired.get(i), 100));
+        }
+    }
+}